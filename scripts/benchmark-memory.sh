@@ -0,0 +1,66 @@
+#!/usr/bin/env sh
+# -----------------------------------------------------
+# Compara el consumo de memoria de la imagen Docker en un contenedor de 512 MB:
+#   default   ergonomía por defecto de la JVM (JAVA_TOOL_OPTIONS vacío)
+#   tuned     JAVA_TOOL_OPTIONS del Dockerfile (MaxRAMPercentage, SerialGC, etc.)
+#
+# Para cada modo: arranca el contenedor, aplica una carga corta (login + listados)
+# y reporta la memoria del contenedor (docker stats) y heap/non-heap de la JVM
+# (jvm_memory_used_bytes de /actuator/prometheus).
+#
+# Requiere Docker, curl y PostgreSQL accesible desde el contenedor
+# (SPRING_DATASOURCE_URL/USERNAME/PASSWORD en el entorno).
+# /actuator/prometheus se lee con el usuario de scraping (METRICS_PASSWORD, por defecto uno temporal).
+# Uso: scripts/benchmark-memory.sh [requests] [puerto]
+# -----------------------------------------------------
+set -e
+
+REQUESTS=${1:-500}
+PUERTO=${2:-8090}
+IMAGEN=emsx:memoria
+MEMORIA=512m
+METRICS_PASSWORD=${METRICS_PASSWORD:-benchmark-$$}
+export METRICS_PASSWORD
+
+cd "$(dirname "$0")/.."
+
+echo "🔨 Construyendo imagen $IMAGEN..."
+docker build -q -t "$IMAGEN" . >/dev/null
+
+metrica() {
+  # Suma las series de jvm_memory_used_bytes de un área (heap / nonheap), en MB
+  curl -s -u "prometheus:$METRICS_PASSWORD" "http://localhost:$PUERTO/actuator/prometheus" \
+    | awk -v area="$1" '$1 ~ /^jvm_memory_used_bytes/ && $1 ~ "area=\"" area "\"" { total += $2 } END { printf "%.0f", total / 1048576 }'
+}
+
+medir() {
+  modo=$1
+  opciones=$2
+  contenedor=$(docker run -d --rm --memory="$MEMORIA" -p "$PUERTO:8080" -e PORT=8080 \
+    -e SPRING_DATASOURCE_URL -e SPRING_DATASOURCE_USERNAME -e SPRING_DATASOURCE_PASSWORD -e METRICS_PASSWORD \
+    -e JAVA_TOOL_OPTIONS="$opciones" "$IMAGEN")
+
+  until curl -sf "http://localhost:$PUERTO/actuator/health" >/dev/null 2>&1; do
+    if [ -z "$(docker ps -q -f id="$contenedor")" ]; then
+      echo "❌ $modo: el contenedor terminó"
+      exit 1
+    fi
+    sleep 0.5
+  done
+
+  token=$(curl -s -H 'Content-Type: application/json' -d '{"username":"admin","password":"admin123"}' \
+    "http://localhost:$PUERTO/api/auth/login" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+  i=0
+  while [ "$i" -lt "$REQUESTS" ]; do
+    curl -s -o /dev/null -H "Authorization: Bearer $token" "http://localhost:$PUERTO/api/employees"
+    curl -s -o /dev/null -H "Authorization: Bearer $token" "http://localhost:$PUERTO/api/productos"
+    i=$((i + 1))
+  done
+
+  contenedor_mem=$(docker stats --no-stream --format '{{.MemUsage}}' "$contenedor")
+  echo "$modo contenedor=$contenedor_mem heap=$(metrica heap)MB nonheap=$(metrica nonheap)MB"
+  docker stop "$contenedor" >/dev/null
+}
+
+medir default ""
+medir tuned "$(docker image inspect -f '{{range .Config.Env}}{{println .}}{{end}}' "$IMAGEN" | sed -n 's/^JAVA_TOOL_OPTIONS=//p')"
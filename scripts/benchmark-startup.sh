@@ -0,0 +1,70 @@
+#!/usr/bin/env sh
+# -----------------------------------------------------
+# Mide el arranque en frío con y sin las optimizaciones de arranque:
+#   jar        java -jar (sin AOT, sin CDS, beans eager)
+#   lazy       + perfil fast-startup (lazy init)
+#   aot        + contexto pre-generado (-Dspring.aot.enabled=true)
+#   aot-cds    + archivo CDS (como en el Dockerfile)
+#
+# Para cada modo reporta:
+#   arranque       ms hasta que /actuator/health responde
+#   primer request ms del primer POST /api/auth/login (paga los beans lazy)
+#
+# Requiere PostgreSQL accesible (SPRING_DATASOURCE_URL/USERNAME/PASSWORD) y curl.
+# Uso: scripts/benchmark-startup.sh [repeticiones] [puerto]
+# -----------------------------------------------------
+set -e
+
+REPETICIONES=${1:-3}
+PUERTO=${2:-8089}
+
+cd "$(dirname "$0")/.."
+
+echo "🔨 Construyendo con -Pfast-startup..."
+./mvnw -B -q clean package -DskipTests -Pfast-startup
+
+DESTINO=target/startup-bench
+rm -rf "$DESTINO"
+mkdir -p "$DESTINO"
+cp target/*.jar "$DESTINO/app.jar"
+(cd "$DESTINO" && java -Djarmode=tools -jar app.jar extract --destination extracted >/dev/null)
+cd "$DESTINO/extracted"
+
+echo "🎓 Entrenando archivo CDS..."
+java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -Dspring.jpa.hibernate.ddl-auto=none -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+  -jar app.jar >/dev/null 2>&1
+
+ahora_ms() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+medir() {
+  modo=$1
+  shift
+  inicio=$(ahora_ms)
+  java "$@" -Dserver.port="$PUERTO" -jar app.jar >"../$modo.log" 2>&1 &
+  pid=$!
+  until curl -sf "http://localhost:$PUERTO/actuator/health" >/dev/null 2>&1; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "❌ $modo: la aplicación terminó (ver $DESTINO/$modo.log)"
+      exit 1
+    fi
+    sleep 0.1
+  done
+  listo=$(ahora_ms)
+  curl -s -o /dev/null -H 'Content-Type: application/json' \
+    -d '{"username":"admin","password":"admin123"}' "http://localhost:$PUERTO/api/auth/login"
+  primero=$(ahora_ms)
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$modo arranque=$((listo - inicio))ms primer_request=$((primero - listo))ms"
+}
+
+for i in $(seq 1 "$REPETICIONES"); do
+  echo "⏱️ Repetición $i/$REPETICIONES"
+  medir jar
+  medir lazy -Dspring.profiles.active=fast-startup
+  medir aot -Dspring.profiles.active=fast-startup -Dspring.aot.enabled=true
+  medir aot-cds -Dspring.profiles.active=fast-startup -Dspring.aot.enabled=true -XX:SharedArchiveFile=app.jsa
+done
@@ -0,0 +1,37 @@
+#!/usr/bin/env sh
+# -----------------------------------------------------
+# Compara throughput con hilos de plataforma vs hilos virtuales
+# usando el harness de carga (LoadHarnessTest) sobre H2.
+#
+# Uso: scripts/benchmark-virtual-threads.sh [usuarios] [segundos] [latencia_jdbc_ms]
+#   usuarios         concurrencia del harness (por defecto 200)
+#   segundos         duración de cada corrida (por defecto 30)
+#   latencia_jdbc_ms latencia emulada por sentencia SQL (por defecto 5)
+#
+# Ambas corridas usan el mismo pool de conexiones y el mismo tope de Tomcat (50 hilos);
+# la única diferencia es spring.threads.virtual.enabled.
+# Resultado: target/load-platform.json y target/load-virtual.json
+# -----------------------------------------------------
+set -e
+
+USUARIOS=${1:-200}
+SEGUNDOS=${2:-30}
+LATENCIA=${3:-5}
+
+cd "$(dirname "$0")/.."
+
+correr() {
+  ./mvnw -B -q test -Dtest=LoadHarnessTest -Dsurefire.failIfNoSpecifiedTests=false \
+    -Dload.enabled=true -Dload.concurrency="$USUARIOS" -Dload.duration-seconds="$SEGUNDOS" \
+    -Dload.jdbc-latency-ms="$LATENCIA" -Dspring.threads.virtual.enabled="$1" -Dload.report="$2"
+}
+
+echo "🧵 Corrida con hilos de plataforma..."
+correr false load-platform.json
+echo "🧵 Corrida con hilos virtuales..."
+correr true load-virtual.json
+
+for archivo in target/load-platform.json target/load-virtual.json; do
+  printf '%s: ' "$archivo"
+  grep -m1 '"throughput"' "$archivo"
+done
@@ -0,0 +1,74 @@
+package com.app.emsx.benchmarks;
+
+import com.app.emsx.common.ApiResponse;
+import com.app.emsx.config.ApiResponseHttpMessageConverter;
+import com.app.emsx.dtos.employee.EmployeeResponse;
+import com.app.emsx.mappers.EmployeeMapper;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiResponseSerializationBenchmark
+ * -----------------------------------------------------
+ * ✔ Mide la serialización JSON de ApiResponse con listas grandes
+ * ✔ ObjectMapper construido como lo hace Spring Boot (JavaTimeModule, etc.)
+ * ✔ Compara el ObjectWriter genérico con ApiResponseHttpMessageConverter,
+ *   con y sin Blackbird
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1000", "50000"})
+    private int elementos;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private ApiResponseHttpMessageConverter converter;
+    private ApiResponse<List<EmployeeResponse>> respuesta;
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) builder.modulesToInstall(new BlackbirdModule());
+        objectMapper = builder.build();
+        writer = objectMapper.writer();
+        converter = new ApiResponseHttpMessageConverter(objectMapper);
+        List<EmployeeResponse> data = Mappers.getMapper(EmployeeMapper.class)
+                .toResponseList(Fixtures.empleados(elementos, 3));
+        respuesta = ApiResponse.ok("Empleados obtenidos correctamente", data);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return writer.writeValueAsBytes(respuesta);
+    }
+
+    @Benchmark
+    public void writeValueToStream() throws Exception {
+        // Sin buffer intermedio: aísla el coste del generador
+        writer.writeValue(OutputStream.nullOutputStream(), respuesta);
+    }
+
+    @Benchmark
+    public void converterToStream() throws Exception {
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(OutputStream.nullOutputStream(), JsonEncoding.UTF8)) {
+            converter.escribir(respuesta, generator);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.emsx.benchmarks;
+
+import com.app.emsx.dtos.employee.EmployeeResponse;
+import com.app.emsx.entities.Employee;
+import com.app.emsx.mappers.EmployeeMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmployeeMapperBenchmark
+ * -----------------------------------------------------
+ * ✔ Mide EmployeeMapper.toResponse sobre grafos sintéticos
+ *   (departamento + N habilidades por empleado)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int empleados;
+
+    @Param({"0", "10"})
+    private int skillsPorEmpleado;
+
+    private EmployeeMapper mapper;
+    private List<Employee> grafo;
+
+    @Setup
+    public void setup() {
+        mapper = Mappers.getMapper(EmployeeMapper.class);
+        grafo = Fixtures.empleados(empleados, skillsPorEmpleado);
+    }
+
+    @Benchmark
+    public EmployeeResponse toResponse() {
+        return mapper.toResponse(grafo.get(0));
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> toResponseList() {
+        return mapper.toResponseList(grafo);
+    }
+}
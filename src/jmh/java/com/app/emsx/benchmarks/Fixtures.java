@@ -0,0 +1,64 @@
+package com.app.emsx.benchmarks;
+
+import com.app.emsx.entities.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks (sin base de datos).
+ */
+final class Fixtures {
+
+    private static final String PASSWORD_BCRYPT = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4p5v1Q1bQe1Qe1Qe1Qe1Qe1";
+
+    private Fixtures() {
+    }
+
+    static User usuario(int roles) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@emsx.com");
+        user.setPassword(PASSWORD_BCRYPT);
+
+        Set<UsuarioRol> usuarioRoles = new HashSet<>();
+        for (int i = 0; i < roles; i++) {
+            Rol rol = Rol.builder().id((long) i).nombre("ROL_" + i).build();
+            usuarioRoles.add(UsuarioRol.builder().usuarioId(1L).rolId((long) i).usuario(user).rol(rol).build());
+        }
+        user.setUsuarioRoles(roles == 0 ? null : usuarioRoles);
+        return user;
+    }
+
+    static List<Employee> empleados(int cantidad, int skillsPorEmpleado) {
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("Ingeniería");
+
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < skillsPorEmpleado; i++) {
+            Skill skill = new Skill();
+            skill.setId((long) i);
+            skill.setName("Skill " + i);
+            skills.add(skill);
+        }
+
+        List<Employee> empleados = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i);
+            employee.setFirstName("Nombre" + i);
+            employee.setLastName("Apellido" + i);
+            employee.setEmail("empleado" + i + "@emsx.com");
+            employee.setAddress("Calle " + i);
+            employee.setPhone("+51 9" + String.format("%08d", i));
+            employee.setDepartment(department);
+            employee.setSkills(new HashSet<>(skills));
+            empleados.add(employee);
+        }
+        return empleados;
+    }
+}
@@ -0,0 +1,49 @@
+package com.app.emsx.benchmarks;
+
+import com.app.emsx.entities.User;
+import com.app.emsx.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtServiceBenchmark
+ * -----------------------------------------------------
+ * ✔ Mide generación, lectura y validación de tokens (HS512)
+ * ✔ Es el camino que recorre JwtAuthenticationFilter en cada request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretValue", "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret");
+        jwtService.initKey();
+
+        user = Fixtures.usuario(2);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
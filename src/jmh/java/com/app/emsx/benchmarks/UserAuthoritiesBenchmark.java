@@ -0,0 +1,34 @@
+package com.app.emsx.benchmarks;
+
+import com.app.emsx.entities.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserAuthoritiesBenchmark
+ * -----------------------------------------------------
+ * ✔ Mide User.getAuthorities (se llama en cada request autenticado)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserAuthoritiesBenchmark {
+
+    @Param({"0", "1", "5"})
+    private int roles;
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        user = Fixtures.usuario(roles);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user.getAuthorities();
+    }
+}
@@ -0,0 +1,40 @@
+package com.app.emsx.common;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.StringJoiner;
+
+/**
+ * ListadoEtag
+ * -----------------------------------------------------
+ * ✅ ETag de un listado a partir de su versión en la base (conteos y MAX(updated_at)),
+ *    sin cargar entidades: If-None-Match se resuelve antes de consultar las filas
+ * ✅ Mismo valor en todas las instancias (sale de los datos, no de la memoria)
+ * ✅ ETag débil (W/"..."): Tomcat no comprime respuestas con ETag fuerte, y el listado
+ *    es semánticamente el mismo aunque la representación viaje comprimida
+ */
+public final class ListadoEtag {
+
+    private ListadoEtag() {
+    }
+
+    public static String de(String recurso, Object... partes) {
+        StringJoiner etag = new StringJoiner("-", "W/\"" + recurso + "-", "\"");
+        for (Object parte : partes) {
+            etag.add(codificar(parte));
+        }
+        return etag.toString();
+    }
+
+    private static String codificar(Object parte) {
+        if (parte == null) return "0";
+        if (parte instanceof LocalDateTime fecha) {
+            // Microsegundos: la precisión de timestamp en PostgreSQL
+            long micros = ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), fecha);
+            return Long.toString(micros, 36);
+        }
+        if (parte instanceof Long numero) return Long.toString(numero, 36);
+        return parte.toString();
+    }
+}
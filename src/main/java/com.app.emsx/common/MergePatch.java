@@ -0,0 +1,26 @@
+package com.app.emsx.common;
+
+import java.util.Set;
+
+/**
+ * MergePatch<T>
+ * -----------------------------------------------------
+ * Documento JSON Merge Patch (RFC 7396) ya leído sobre el DTO de petición.
+ * ✅ cambios: DTO con los miembros presentes en el documento (el resto en null)
+ * ✅ campos:  miembros presentes en el documento
+ * ✅ nulos:   miembros presentes con valor null → "borrar" el valor actual
+ * Los mappers (updateEntityFromRequest) ignoran los null, así que el servicio
+ * solo tiene que aplicar aparte los borrados de campos opcionales.
+ */
+public record MergePatch<T>(T cambios, Set<String> campos, Set<String> nulos) {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    public boolean contiene(String campo) {
+        return campos.contains(campo);
+    }
+
+    public boolean anula(String campo) {
+        return nulos.contains(campo);
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.emsx.common;
+
+import com.app.emsx.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MergePatchReader
+ * -----------------------------------------------------
+ * Lee un JSON Merge Patch (RFC 7396) sobre el DTO de petición de cada recurso.
+ * ✔ Solo se aceptan los campos del DTO: cualquier otro miembro → 400
+ * ✔ Bean Validation solo sobre los campos presentes: un @NotBlank impide
+ *   borrar un campo obligatorio, pero no exige enviarlo
+ * ✔ Los recursos son planos: no hay objetos anidados que fusionar
+ */
+@Component
+public class MergePatchReader {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public MergePatchReader(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public <T> MergePatch<T> leer(JsonNode documento, Class<T> tipo) {
+        if (documento == null || !documento.isObject()) {
+            throw new InvalidRequestException("El merge patch debe ser un objeto JSON");
+        }
+
+        T cambios;
+        try {
+            cambios = objectMapper.reader()
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .treeToValue(documento, tipo);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Merge patch inválido: " + e.getOriginalMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Merge patch inválido: " + e.getMessage(), e);
+        }
+
+        Set<String> campos = new LinkedHashSet<>();
+        Set<String> nulos = new LinkedHashSet<>();
+        for (Map.Entry<String, JsonNode> miembro : documento.properties()) {
+            campos.add(miembro.getKey());
+            if (miembro.getValue().isNull()) nulos.add(miembro.getKey());
+        }
+
+        Set<ConstraintViolation<T>> violaciones = new HashSet<>();
+        for (String campo : campos) {
+            violaciones.addAll(validator.validateProperty(cambios, campo));
+        }
+        if (!violaciones.isEmpty()) {
+            throw new ConstraintViolationException(violaciones);
+        }
+        return new MergePatch<>(cambios, Set.copyOf(campos), Set.copyOf(nulos));
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.emsx.common;
+
+import lombok.*;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * PageResponse<T>
+ * -----------------------------------------------------
+ * ✅ Página de resultados con metadatos de paginación
+ * ✅ Formato JSON estable (no expone la estructura interna de Spring Data)
+ * ✅ Se usa como "data" dentro de ApiResponse
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+    private List<T> content;        // elementos de la página
+    private int page;               // número de página (desde 0)
+    private int size;               // tamaño solicitado
+    private long totalElements;     // total de registros
+    private int totalPages;         // total de páginas
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return PageResponse.<T>builder()
+                .content(page.getContent())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+    }
+}
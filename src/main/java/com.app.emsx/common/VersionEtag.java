@@ -0,0 +1,66 @@
+package com.app.emsx.common;
+
+import com.app.emsx.exceptions.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * VersionEtag
+ * -----------------------------------------------------
+ * ✅ ETag fuerte de un recurso a partir de su @Version: "3"
+ * ✅ Si la respuesta incluye filas de otras tablas (cliente, líneas, productos), el ETag
+ *    lleva además una huella de ellas: "3.9f86d081884c7d65". Así un GET condicional no
+ *    responde 304 con un cliente o producto ya renombrado; If-Match usa solo la versión
+ * ✅ Lectura de If-Match para PUT/PATCH:
+ *    - sin cabecera → se usa la versión del cuerpo (si viene) o no se verifica
+ *    - "*"          → cualquier versión existente
+ *    - W/"..."      → nunca coincide (If-Match compara en forma fuerte) → 412
+ */
+public final class VersionEtag {
+
+    private VersionEtag() {
+    }
+
+    public static String de(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    /**
+     * ETag de un recurso que embebe otras filas: versión + huella de esas filas.
+     */
+    public static String de(Long version, List<?> embebidas) {
+        String huella = DigestUtils.md5DigestAsHex(embebidas.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"" + (version != null ? version : 0) + "." + huella.substring(0, 16) + "\"";
+    }
+
+    /**
+     * Versión que el cliente espera modificar, o null si no exige ninguna.
+     */
+    public static Long esperada(String ifMatch, Long versionCuerpo) {
+        if (ifMatch == null || ifMatch.isBlank()) return versionCuerpo;
+        String valor = ifMatch.trim();
+        if (valor.equals("*")) return null;
+        if (valor.length() > 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            String etiqueta = valor.substring(1, valor.length() - 1);
+            int punto = etiqueta.indexOf('.');
+            try {
+                return Long.parseLong(punto >= 0 ? etiqueta.substring(0, punto) : etiqueta);
+            } catch (NumberFormatException ignored) {
+                // cae al 412
+            }
+        }
+        throw new PreconditionFailedException("If-Match no corresponde a ninguna versión del recurso: " + valor);
+    }
+
+    /**
+     * ✅ Lanza 412 si el recurso ya no está en la versión esperada.
+     */
+    public static void verificar(Long esperada, Long actual, String recurso) {
+        if (esperada != null && !esperada.equals(actual)) {
+            throw new PreconditionFailedException(recurso + " fue modificado (versión actual " + actual
+                    + ", esperada " + esperada + "). Vuelva a leerlo antes de guardar");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.app.emsx.config;
+
+import com.app.emsx.common.ApiResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * ApiResponseHttpMessageConverter
+ * -----------------------------------------------------
+ * Escribe el sobre ApiResponse campo a campo con un JsonGenerator, sin pasar
+ * por el BeanSerializer genérico de ApiResponse<T>.
+ * ✔ success / message / data / timestamp en el mismo orden y formato que Jackson
+ *   (timestamp al final: HttpCacheConfig lo excluye del ETag)
+ * ✔ Si data es una colección se recorre con su iterador y cada elemento se escribe
+ *   directo al stream de la respuesta
+ * ✔ El serializer se resuelve una vez por clase de elemento, no por fila
+ * ✔ Usa el ObjectMapper de Spring: módulos (Blackbird, JavaTimeModule) y features
+ *   configurados se aplican igual
+ * ✔ El formato lo decide la fábrica del ObjectMapper: una instancia escribe JSON y
+ *   otra CBOR (JacksonConfig); ambas agregan Vary: Accept
+ * ✔ Solo escritura: ApiResponse nunca llega como cuerpo de request
+ */
+public class ApiResponseHttpMessageConverter extends AbstractHttpMessageConverter<ApiResponse<?>> {
+
+    private final ObjectMapper objectMapper;
+
+    public ApiResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        this(objectMapper, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    public ApiResponseHttpMessageConverter(ObjectMapper objectMapper, MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse es solo de salida", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> respuesta, HttpOutputMessage outputMessage) throws IOException {
+        // La misma URL responde JSON o CBOR según Accept: las cachés deben distinguirlos
+        if (!outputMessage.getHeaders().getOrEmpty(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            outputMessage.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            escribir(respuesta, generator);
+        }
+    }
+
+    /**
+     * Escribe el sobre completo. Público para los benchmarks (mismo camino que el converter).
+     */
+    public void escribir(ApiResponse<?> respuesta, JsonGenerator generator) throws IOException {
+        objectMapper.getSerializationConfig().initialize(generator);
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+
+        generator.writeStartObject();
+        generator.writeBooleanField("success", respuesta.isSuccess());
+        generator.writeStringField("message", respuesta.getMessage());
+        generator.writeFieldName("data");
+        if (respuesta.getData() instanceof Iterable<?> elementos) {
+            escribirElementos(elementos.iterator(), generator, provider);
+        } else {
+            provider.defaultSerializeValue(respuesta.getData(), generator);
+        }
+        generator.writeFieldName("timestamp");
+        provider.defaultSerializeValue(respuesta.getTimestamp(), generator);
+        generator.writeEndObject();
+    }
+
+    private static void escribirElementos(Iterator<?> elementos, JsonGenerator generator,
+                                          SerializerProvider provider) throws IOException {
+        Class<?> claseAnterior = null;
+        JsonSerializer<Object> serializer = null;
+
+        generator.writeStartArray();
+        while (elementos.hasNext()) {
+            Object elemento = elementos.next();
+            if (elemento == null) {
+                generator.writeNull();
+                continue;
+            }
+            // Las listas son homogéneas: normalmente se busca un único serializer
+            if (elemento.getClass() != claseAnterior) {
+                claseAnterior = elemento.getClass();
+                serializer = provider.findTypedValueSerializer(claseAnterior, true, null);
+            }
+            serializer.serialize(elemento, generator, provider);
+        }
+        generator.writeEndArray();
+    }
+}
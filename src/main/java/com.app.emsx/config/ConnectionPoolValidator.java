@@ -0,0 +1,75 @@
+package com.app.emsx.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * ConnectionPoolValidator
+ * -----------------------------------------------------
+ * Revisa al arrancar que el pool de conexiones sea coherente con los hilos que lo usan.
+ * ✔ El pool debe cubrir los workers de facturación y dejar margen para los requests
+ * ✔ Demasiados hilos de Tomcat por conexión → colas largas y timeouts de conexión
+ * ✔ Con hilos virtuales no hay tope de hilos: el pool es el único límite
+ * Solo loguea advertencias, no detiene la aplicación.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class ConnectionPoolValidator implements ApplicationRunner {
+
+    // Margen mínimo de conexiones libres para requests mientras corre el batch
+    private static final int MARGEN_REQUESTS = 2;
+    // Más de N hilos por conexión suele terminar en espera (hikaricp.connections.pending)
+    private static final int HILOS_POR_CONEXION = 5;
+
+    private final DataSource dataSource;
+    private final int hilosTomcat;
+    private final int workersFacturacion;
+    private final boolean hilosVirtuales;
+
+    public ConnectionPoolValidator(DataSource dataSource,
+                                   @Value("${server.tomcat.threads.max:200}") int hilosTomcat,
+                                   @Value("${facturacion.batch.workers:4}") int workersFacturacion,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.dataSource = dataSource;
+        this.hilosTomcat = hilosTomcat;
+        this.workersFacturacion = workersFacturacion;
+        this.hilosVirtuales = hilosVirtuales;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        if (hikari == null) {
+            log.info("ℹ️ DataSource no es HikariCP, se omite la validación del pool");
+            return;
+        }
+
+        int pool = hikari.getMaximumPoolSize();
+        log.info("🔌 Pool {}: máximo {} conexiones, mínimo ocioso {}, timeout {} ms, leak detection {} ms",
+                hikari.getPoolName(), pool, hikari.getMinimumIdle(),
+                hikari.getConnectionTimeout(), hikari.getLeakDetectionThreshold());
+
+        if (pool < workersFacturacion + MARGEN_REQUESTS) {
+            log.warn("⚠️  ADVERTENCIA: maximum-pool-size={} no cubre facturacion.batch.workers={} + {} conexiones para requests",
+                    pool, workersFacturacion, MARGEN_REQUESTS);
+            log.warn("   Subir DB_POOL_MAX_SIZE o bajar FACTURACION_BATCH_WORKERS");
+        }
+        if (hilosVirtuales) {
+            // Sin tope de hilos: los requests esperan conexión hasta connection-timeout
+            log.info("🧵 Hilos virtuales activos: la concurrencia con BD queda limitada por el pool ({} conexiones)", pool);
+        } else if (hilosTomcat > pool * HILOS_POR_CONEXION) {
+            log.warn("⚠️  ADVERTENCIA: {} hilos de Tomcat para {} conexiones: riesgo de espera por conexión (timeout {} ms)",
+                    hilosTomcat, pool, hikari.getConnectionTimeout());
+            log.warn("   Ajustar TOMCAT_MAX_THREADS o DB_POOL_MAX_SIZE (ver métrica hikaricp.connections.pending)");
+        }
+    }
+}
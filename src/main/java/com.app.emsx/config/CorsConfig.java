@@ -24,7 +24,7 @@ public class CorsConfig {
 
         // ✅ Headers permitidos - TODOS para evitar problemas
         config.setAllowedHeaders(List.of("*"));
-        config.setExposedHeaders(List.of("Authorization", "Content-Type"));
+        config.setExposedHeaders(List.of("Authorization", "Content-Type", "ETag", "Retry-After", "X-Query-Count", "X-Query-Time-Ms"));
 
         // ⚠️ Desactivar credenciales cuando usas "*" en origins
         config.setAllowCredentials(false);
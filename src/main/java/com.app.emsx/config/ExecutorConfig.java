@@ -0,0 +1,55 @@
+package com.app.emsx.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * ExecutorConfig
+ * -----------------------------------------------------
+ * ✔ Define los pools de hilos acotados para trabajos en segundo plano
+ * ✔ Habilita @Scheduled (cron configurable por propiedades)
+ * ✔ Los pools son pequeños a propósito: cada hilo usa una conexión a la BD
+ */
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    /**
+     * ✅ Pool para la facturación por lotes (un hilo por partición)
+     */
+    @Bean(name = "facturacionExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor facturacionExecutor(@Value("${facturacion.batch.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("facturacion-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * ✅ Pool para generar PDFs de facturas (CPU intensivo, cola acotada)
+     * Si la cola se llena, se rechaza la tarea y el endpoint responde 503.
+     */
+    @Bean(name = "pdfExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor pdfExecutor(@Value("${factura.pdf.workers:2}") int workers,
+                                              @Value("${factura.pdf.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("factura-pdf-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
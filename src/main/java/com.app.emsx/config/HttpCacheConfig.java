@@ -0,0 +1,100 @@
+package com.app.emsx.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HttpCacheConfig
+ * -----------------------------------------------------
+ * GET condicional para los listados sin versión en la base
+ * (employees, departments, skills, dependents, employee-skills, facturas).
+ * ✔ ETag = hash MD5 del cuerpo ya serializado: con If-None-Match vigente se
+ *   responde 304 sin cuerpo (ahorra transferencia, no la consulta)
+ * ✔ El hash ignora ApiResponse.timestamp (cambia en cada respuesta), tanto en
+ *   JSON como en CBOR
+ * ✔ ETag débil para que Tomcat pueda seguir comprimiendo (server.compression)
+ * ✔ Corre después de Spring Security: un 304 solo llega a usuarios autenticados
+ * ✔ Pedidos, clientes y productos calculan su propio ETag antes de cargar filas
+ *   y no pasan por este filtro
+ */
+@Configuration
+public class HttpCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        ShallowEtagHeaderFilter filtro = new ApiResponseEtagFilter();
+        filtro.setWriteWeakETag(true);
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns(
+                "/api/employees/*",
+                "/api/departments/*",
+                "/api/skills/*",
+                "/api/dependents/*",
+                "/api/employee-skills/*",
+                "/api/facturas");
+        registro.setName("shallowEtagHeaderFilter");
+        return registro;
+    }
+
+    /**
+     * ShallowEtagHeaderFilter que excluye del hash el último campo de ApiResponse
+     * ("timestamp"): dos respuestas con los mismos datos comparten ETag.
+     * ApiResponseHttpMessageConverter escribe ese campo al final, así que basta con
+     * buscar su clave codificada desde el final del cuerpo, sin volver a parsearlo:
+     * en JSON ,"timestamp": y en CBOR el texto de 9 bytes (0x69) "timestamp".
+     */
+    static class ApiResponseEtagFilter extends ShallowEtagHeaderFilter {
+
+        private static final byte[] TIMESTAMP_JSON = ",\"timestamp\":".getBytes(StandardCharsets.UTF_8);
+        private static final byte[] TIMESTAMP_CBOR = clave(0x69, "timestamp");
+
+        @Override
+        protected String generateETagHeaderValue(InputStream inputStream, boolean isWeak) throws IOException {
+            byte[] cuerpo = inputStream.readAllBytes();
+            byte[] marca = marcaPara(cuerpo);
+            int fin = marca != null ? ultimaAparicion(cuerpo, marca) : -1;
+
+            StringBuilder etag = new StringBuilder(37);
+            if (isWeak) etag.append("W/");
+            etag.append("\"0");
+            DigestUtils.appendMd5DigestAsHex(new ByteArrayInputStream(cuerpo, 0, fin >= 0 ? fin : cuerpo.length), etag);
+            etag.append('"');
+            return etag.toString();
+        }
+
+        // '{' → JSON; cabecera de mapa CBOR (tipo mayor 5: 0xA0–0xBF) → CBOR; otro cuerpo se hashea entero
+        private static byte[] marcaPara(byte[] cuerpo) {
+            if (cuerpo.length == 0) return null;
+            int primero = cuerpo[0] & 0xFF;
+            if (primero == '{') return TIMESTAMP_JSON;
+            if ((primero & 0xE0) == 0xA0) return TIMESTAMP_CBOR;
+            return null;
+        }
+
+        private static int ultimaAparicion(byte[] cuerpo, byte[] marca) {
+            for (int i = cuerpo.length - marca.length; i >= 0; i--) {
+                int j = 0;
+                while (j < marca.length && cuerpo[i + j] == marca[j]) j++;
+                if (j == marca.length) return i;
+            }
+            return -1;
+        }
+
+        private static byte[] clave(int cabecera, String texto) {
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            byte[] resultado = new byte[bytes.length + 1];
+            resultado[0] = (byte) cabecera;
+            System.arraycopy(bytes, 0, resultado, 1, bytes.length);
+            return resultado;
+        }
+    }
+}
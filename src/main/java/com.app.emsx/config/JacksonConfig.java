@@ -0,0 +1,57 @@
+package com.app.emsx.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * JacksonConfig
+ * -----------------------------------------------------
+ * ✔ Blackbird: getters/setters de los DTOs vía LambdaMetafactory en lugar de reflexión
+ *   (no se instala en la imagen nativa: allí no hay generación de lambdas en runtime)
+ * ✔ ApiResponseHttpMessageConverter antes del converter Jackson estándar:
+ *   toda respuesta ApiResponse en JSON pasa por el escritor en streaming
+ * ✔ Accept: application/cbor → el mismo ApiResponse en CBOR (RFC 8949), con el
+ *   ObjectMapper de Spring Boot sobre CBORFactory (mismos módulos y fechas).
+ *   JSON sigue siendo el formato por defecto
+ */
+@Configuration
+public class JacksonConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+
+    // Jackson2ObjectMapperBuilder es prototype: esta instancia ya trae los customizers de Boot
+    public JacksonConfig(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        this.objectMapper = objectMapper;
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    // La variante Consumer añade a la lista de Boot (JsonComponentModule, JsonMixinModule,
+    // ParameterNamesModule...); modulesToInstall(Module...) la reemplazaría entera.
+    // Sin @Order corre después del customizer estándar de Boot, que es quien llena la lista
+    @Bean
+    public static Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.modulesToInstall(modules -> modules.add(new BlackbirdModule()));
+            }
+        };
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ApiResponseHttpMessageConverter(objectMapper));
+        converters.add(1, new ApiResponseHttpMessageConverter(cborMapper, MediaType.APPLICATION_CBOR));
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.emsx.config;
+
+import com.app.emsx.dtos.cliente.ClienteResponse;
+import com.app.emsx.dtos.cliente.ClienteSearchRequest;
+import com.app.emsx.dtos.pedido.PedidoResumenResponse;
+import com.app.emsx.dtos.producto.ProductoResponse;
+import com.app.emsx.dtos.producto.ProductoSearchRequest;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * NativeHintsConfig
+ * -----------------------------------------------------
+ * Metadatos de alcanzabilidad para la imagen nativa (mvn -Pnative native:compile).
+ * Lo que Spring AOT ya resuelve solo no se repite aquí:
+ *   - Entidades JPA (PersistenceManagedTypes) y repositorios de Spring Data
+ *   - Mappers de MapStruct: son beans de Spring, AOT los instancia sin reflexión
+ *     (Lombok no deja rastro en runtime)
+ *   - DTOs de @RequestBody / respuestas de controllers, migraciones de Flyway
+ * ✔ Proyecciones JPQL / Criteria (select new ...): Hibernate usa el constructor por reflexión
+ * ✔ Filtros con @ModelAttribute: binding por setters
+ * ✔ JJWT 0.11: carga sus implementaciones por nombre y el serializer Jackson con ServiceLoader
+ * ✔ datasource-proxy (QueryCountConfig): proxies JDK de Connection/Statement
+ * ✔ OpenPDF (métricas de fuentes) y recursos de Swagger UI
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+@RegisterReflectionForBinding({ClienteSearchRequest.class, ProductoSearchRequest.class})
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        private static final List<String> JJWT_IMPL = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Proyecciones construidas por Hibernate
+            for (Class<?> proyeccion : List.of(PedidoResumenResponse.class, ClienteResponse.class, ProductoResponse.class)) {
+                hints.reflection().registerType(proyeccion, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            // JJWT: Classes.newInstance(...) + META-INF/services
+            for (String tipo : JJWT_IMPL) {
+                hints.reflection().registerType(TypeReference.of(tipo),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // datasource-proxy: Proxy.newProxyInstance(ProxyJdbcObject, <interfaz JDBC>)
+            for (Class<?> jdbc : List.of(Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class)) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbc);
+            }
+
+            // OpenPDF: métricas AFM de las fuentes estándar (Helvetica)
+            hints.resources().registerPattern("com/lowagie/text/pdf/fonts/*");
+
+            // Swagger UI (springdoc registra sus propios tipos; los estáticos del webjar van aquí)
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        }
+    }
+}
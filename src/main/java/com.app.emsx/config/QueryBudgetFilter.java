@@ -0,0 +1,99 @@
+package com.app.emsx.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * QueryBudgetFilter
+ * -----------------------------------------------------
+ * ✔ Cuenta las sentencias SQL y el tiempo JDBC de cada request HTTP
+ * ✔ Métricas: "emsx.http.sql.queries", "emsx.http.sql.time" (tags method, uri)
+ *   y "emsx.http.sql.budget.exceeded"
+ * ✔ WARN con la lista de sentencias si se supera emsx.sql.query-budget
+ *   (típico de un N+1 en los mappers)
+ * ✔ Con emsx.sql.debug-headers=true agrega X-Query-Count y X-Query-Time-Ms
+ *   (la respuesta se bufferiza para poder escribir las cabeceras al final)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final int presupuesto;
+    private final boolean cabecerasDebug;
+
+    public QueryBudgetFilter(MeterRegistry registry,
+                             @Value("${emsx.sql.query-budget:20}") int presupuesto,
+                             @Value("${emsx.sql.debug-headers:false}") boolean cabecerasDebug) {
+        this.registry = registry;
+        this.presupuesto = presupuesto;
+        this.cabecerasDebug = cabecerasDebug;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryStats.iniciar();
+        ContentCachingResponseWrapper wrapper = cabecerasDebug ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            QueryStats.finalizar();
+            registrar(request, stats);
+            if (wrapper != null) {
+                wrapper.setHeader("X-Query-Count", String.valueOf(stats.getConsultas()));
+                wrapper.setHeader("X-Query-Time-Ms", String.valueOf(stats.getTiempoMs()));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, QueryStats stats) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        String metodo = request.getMethod();
+
+        DistributionSummary.builder("emsx.http.sql.queries")
+                .description("Sentencias SQL por request")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getConsultas());
+        Timer.builder("emsx.http.sql.time")
+                .description("Tiempo JDBC acumulado por request")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .register(registry)
+                .record(Duration.ofMillis(stats.getTiempoMs()));
+
+        if (stats.getConsultas() > presupuesto) {
+            Counter.builder("emsx.http.sql.budget.exceeded")
+                    .description("Requests que superan el presupuesto de consultas")
+                    .tag("method", metodo)
+                    .tag("uri", uri)
+                    .register(registry)
+                    .increment();
+            log.warn("🐢 {} {} ejecutó {} consultas ({} ms), presupuesto {}. Sentencias:\n{}",
+                    metodo, request.getRequestURI(), stats.getConsultas(), stats.getTiempoMs(), presupuesto,
+                    String.join("\n", stats.getSentencias()));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.emsx.config;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * QueryCountConfig
+ * -----------------------------------------------------
+ * ✔ Envuelve el DataSource principal ("dataSource") con datasource-proxy
+ *   (con réplica de lectura, los pools internos no se envuelven para no contar dos veces)
+ * ✔ Cada ejecución JDBC se anota en QueryStats (conteo, tiempo y SQL)
+ * ✔ Fuera de un request HTTP (jobs, arranque) no se acumula nada
+ */
+@Configuration
+public class QueryCountConfig {
+
+    static final String NOMBRE_PROXY = "emsx-query-count";
+
+    @Bean
+    public static BeanPostProcessor queryCountDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName) && !esProxyPropio(bean)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(NOMBRE_PROXY)
+                            .afterQuery((execInfo, queries) -> QueryStats.registrar(
+                                    execInfo.getElapsedTime(),
+                                    queries.stream().map(QueryInfo::getQuery).toList()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean esProxyPropio(Object bean) {
+        return bean instanceof ProxyDataSource proxy
+                && NOMBRE_PROXY.equals(proxy.getProxyConfig().getDataSourceName());
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.emsx.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * QueryStats
+ * -----------------------------------------------------
+ * ✔ Acumula las sentencias SQL ejecutadas por el hilo del request actual
+ * ✔ Lo inicia y cierra QueryBudgetFilter; lo alimenta el proxy JDBC
+ * ✔ Guarda como máximo MAX_SENTENCIAS textos (el conteo sigue siendo exacto)
+ */
+public final class QueryStats {
+
+    private static final int MAX_SENTENCIAS = 100;
+    private static final ThreadLocal<QueryStats> ACTUAL = new ThreadLocal<>();
+
+    private int consultas;
+    private long tiempoMs;
+    private final List<String> sentencias = new ArrayList<>();
+
+    private QueryStats() {
+    }
+
+    static QueryStats iniciar() {
+        QueryStats stats = new QueryStats();
+        ACTUAL.set(stats);
+        return stats;
+    }
+
+    static void finalizar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Registra una ejecución JDBC (un batch cuenta como una ejecución) si hay un request en curso.
+     */
+    static void registrar(long tiempoMs, List<String> sql) {
+        QueryStats stats = ACTUAL.get();
+        if (stats == null) return;
+        stats.consultas++;
+        stats.tiempoMs += tiempoMs;
+        for (String s : sql) {
+            if (stats.sentencias.size() < MAX_SENTENCIAS) stats.sentencias.add(s);
+        }
+    }
+
+    public int getConsultas() {
+        return consultas;
+    }
+
+    public long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public List<String> getSentencias() {
+        return Collections.unmodifiableList(sentencias);
+    }
+}
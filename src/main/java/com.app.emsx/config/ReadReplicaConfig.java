@@ -0,0 +1,120 @@
+package com.app.emsx.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * ReadReplicaConfig
+ * -----------------------------------------------------
+ * ✔ La réplica se decide al arrancar (emsx.datasource.replica.url), no con una condición
+ *   de bean: con AOT (-Pfast-startup) las condiciones quedan fijas en el build y la
+ *   variable SPRING_DATASOURCE_REPLICA_URL de la imagen se ignoraría
+ * ✔ Sin URL: el DataSource es el pool del primario, sin enrutamiento
+ * ✔ Transacciones @Transactional(readOnly = true) → réplica; el resto → primario
+ * ✔ LazyConnectionDataSourceProxy retrasa la conexión física hasta la primera
+ *   sentencia, cuando ya se sabe si la transacción es de solo lectura
+ * ✔ Si la réplica se atrasa o cae, las lecturas vuelven al primario (ReplicaRoutingDataSource)
+ * ✔ Métricas: emsx.datasource.replica.lag, .available y .fallback
+ */
+@Slf4j
+@Configuration
+public class ReadReplicaConfig {
+
+    private HikariDataSource replica;
+    private ReplicaRoutingDataSource replicaRouting;
+
+    /**
+     * ✅ Pool del primario con la misma configuración que Spring Boot (spring.datasource.*)
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 @Value("${emsx.datasource.replica.url:}") String url,
+                                 @Value("${emsx.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                 @Value("${emsx.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                 @Value("${emsx.datasource.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maximo,
+                                 @Value("${emsx.datasource.replica.max-lag-seconds:10}") double lagMaximo,
+                                 MeterRegistry registry) {
+        if (url.isBlank()) {
+            return new DelegatingDataSource(primaryDataSource);
+        }
+
+        replica = crearReplica(primaryDataSource, url, username, password, maximo, registry);
+        replicaRouting = new ReplicaRoutingDataSource(replica, primaryDataSource, lagMaximo);
+        replicaRouting.verificarLag();
+
+        Gauge.builder("emsx.datasource.replica.lag", replicaRouting, ReplicaRoutingDataSource::getLagSegundos)
+                .description("Retraso de replicación medido (segundos)")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("emsx.datasource.replica.available", replicaRouting, r -> r.isDisponible() ? 1 : 0)
+                .description("1 si las lecturas van a la réplica, 0 si van al primario")
+                .register(registry);
+        FunctionCounter.builder("emsx.datasource.replica.fallback", replicaRouting, ReplicaRoutingDataSource::getRespaldos)
+                .description("Conexiones de solo lectura servidas por el primario")
+                .register(registry);
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRouting);
+        log.info("📚 Réplica de lectura activa: {} (retraso máximo {} s)", url, lagMaximo);
+        return proxy;
+    }
+
+    /**
+     * ✅ Pool de la réplica (solo lectura); usuario y clave por defecto los del primario.
+     * No es un bean: sus métricas hikaricp.* se registran acá y se cierra en cerrarReplica()
+     */
+    private static HikariDataSource crearReplica(HikariDataSource primaryDataSource, String url,
+                                                 String username, String password, int maximo,
+                                                 MeterRegistry registry) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("emsx-replica-pool");
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setDriverClassName(primaryDataSource.getDriverClassName());
+        replica.setMaximumPoolSize(maximo);
+        replica.setMinimumIdle(Math.min(primaryDataSource.getMinimumIdle(), maximo));
+        replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+        replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+        replica.setReadOnly(true);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return replica;
+    }
+
+    @Scheduled(fixedDelayString = "${emsx.datasource.replica.lag-check-ms:5000}")
+    public void verificarLagReplica() {
+        if (replicaRouting != null) {
+            replicaRouting.verificarLag();
+        }
+    }
+
+    @PreDestroy
+    public void cerrarReplica() {
+        if (replica != null) {
+            replica.close();
+        }
+    }
+}
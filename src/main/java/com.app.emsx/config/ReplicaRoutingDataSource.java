@@ -0,0 +1,100 @@
+package com.app.emsx.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ReplicaRoutingDataSource
+ * -----------------------------------------------------
+ * DataSource de solo lectura con respaldo al primario.
+ * ✔ Entrega conexiones de la réplica mientras su retraso sea aceptable
+ * ✔ Si la réplica no responde o se atrasa más de lagMaximoSegundos,
+ *   las lecturas vuelven al primario hasta la siguiente verificación
+ * ✔ verificarLag() se invoca periódicamente desde ReadReplicaConfig
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+
+    // 0 si la réplica está al día (o no es una réplica); si no, segundos desde la última transacción aplicada
+    private static final String SQL_LAG = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    private final DataSource primario;
+    private final double lagMaximoSegundos;
+
+    private volatile boolean disponible = true;
+    private volatile double lagSegundos;
+    private final LongAdder respaldos = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource replica, DataSource primario, double lagMaximoSegundos) {
+        super(replica);
+        this.primario = primario;
+        this.lagMaximoSegundos = lagMaximoSegundos;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (disponible) {
+            try {
+                return obtainTargetDataSource().getConnection();
+            } catch (SQLException e) {
+                disponible = false;
+                log.warn("⚠️ Réplica no disponible, lecturas redirigidas al primario: {}", e.getMessage());
+            }
+        }
+        respaldos.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * ✅ Mide el retraso de replicación y decide si la réplica puede atender lecturas
+     */
+    public void verificarLag() {
+        try (Connection con = obtainTargetDataSource().getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(SQL_LAG)) {
+            rs.next();
+            lagSegundos = rs.getDouble(1);
+            boolean estabaDisponible = disponible;
+            disponible = lagSegundos <= lagMaximoSegundos;
+            if (estabaDisponible && !disponible) {
+                log.warn("⚠️ Réplica atrasada {} s (máximo {} s): lecturas al primario", lagSegundos, lagMaximoSegundos);
+            } else if (!estabaDisponible && disponible) {
+                log.info("✅ Réplica al día ({} s): lecturas de vuelta a la réplica", lagSegundos);
+            }
+        } catch (SQLException e) {
+            if (disponible) {
+                log.warn("⚠️ No se pudo medir el retraso de la réplica, lecturas al primario: {}", e.getMessage());
+            }
+            disponible = false;
+        }
+    }
+
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    public double getLagSegundos() {
+        return lagSegundos;
+    }
+
+    public long getRespaldos() {
+        return respaldos.sum();
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.emsx.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * ServiceMetricsAspect
+ * -----------------------------------------------------
+ * ✔ Mide cada método público de los servicios (serviceimpls) con Micrometer
+ * ✔ Timer "emsx.service" (tags: service, method, outcome, exception)
+ * ✔ Counter "emsx.service.errors" por tipo de excepción
+ * ✔ Los repositorios se miden con las métricas nativas de Spring Data
+ *   ("spring.data.repository.invocations")
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    @Around("within(com.app.emsx.serviceimpls..*) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        String servicio = joinPoint.getSignature().getDeclaringType().getSimpleName().replaceFirst("Impl$", "");
+        String metodo = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            Object resultado = joinPoint.proceed();
+            sample.stop(timer(servicio, metodo, "success", "none"));
+            return resultado;
+        } catch (Throwable e) {
+            String excepcion = e.getClass().getSimpleName();
+            sample.stop(timer(servicio, metodo, "error", excepcion));
+            Counter.builder("emsx.service.errors")
+                    .description("Excepciones lanzadas por los servicios")
+                    .tag("service", servicio)
+                    .tag("method", metodo)
+                    .tag("exception", excepcion)
+                    .register(registry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private Timer timer(String servicio, String metodo, String outcome, String excepcion) {
+        return Timer.builder("emsx.service")
+                .description("Duración de las llamadas a servicios")
+                .tag("service", servicio)
+                .tag("method", metodo)
+                .tag("outcome", outcome)
+                .tag("exception", excepcion)
+                .register(registry);
+    }
+}
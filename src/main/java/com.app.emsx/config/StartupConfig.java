@@ -0,0 +1,49 @@
+package com.app.emsx.config;
+
+import jakarta.servlet.Filter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * StartupConfig
+ * -----------------------------------------------------
+ * ✔ Con el perfil fast-startup (spring.main.lazy-initialization=true) los beans
+ *   se crean en el primer uso; esta lista define los que igual se crean al arrancar:
+ *   - Filtros y cadena de seguridad: el primer request no debe armar Spring Security
+ *   - Flyway: las migraciones (y sus errores) ocurren en el arranque, no en el primer request
+ * ✔ JwtService se marca con @Lazy(false) en su propia clase
+ * ✔ Los beans con @Scheduled ya quedan eager por Spring Boot
+ * ✔ Entrenamiento del archivo CDS (spring.context.exit=onRefresh, ver Dockerfile):
+ *   se corre en el build de la imagen sin base de datos, así que no se migra
+ */
+@Slf4j
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter beansEagerAlArrancar() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                Filter.class, SecurityFilterChain.class, FlywayMigrationInitializer.class);
+    }
+
+    /**
+     * ✅ Con AOT el bean de Flyway existe aunque spring.flyway.enabled=false
+     * (las condiciones se fijan en el build): la decisión se toma aquí, en runtime.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if ("onRefresh".equals(environment.getProperty("spring.context.exit"))) {
+                log.info("ℹ️ Entrenamiento CDS: se omiten las migraciones de Flyway");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
@@ -1,12 +1,33 @@
 package com.app.emsx.controllers;
 
 import com.app.emsx.common.ApiResponse;
+import com.app.emsx.common.ListadoEtag;
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.MergePatchReader;
+import com.app.emsx.common.PageResponse;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.cliente.ClienteDuplicadosReporte;
+import com.app.emsx.dtos.cliente.ClientePatchRequest;
+import com.app.emsx.dtos.cliente.ClientePedidosResponse;
+import com.app.emsx.dtos.cliente.ClienteResponse;
+import com.app.emsx.dtos.cliente.ClienteSearchRequest;
 import com.app.emsx.entities.Cliente;
+import com.app.emsx.exceptions.PreconditionFailedException;
+import com.app.emsx.exceptions.ResourceNotFoundException;
 import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.services.ClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,6 +35,10 @@ import java.util.List;
  * ClienteController
  * -----------------------------------------------------
  * ✔ CRUD completo para clientes
+ * ✔ Listado con ETag y respuesta 304 (If-None-Match)
+ * ✔ PUT/PATCH con bloqueo optimista (If-Match → 412, escritura concurrente → 409)
+ * ✔ Búsquedas indexadas (/by-email, /search) y detección de duplicados (/duplicados)
+ * ✔ Historial de pedidos por cliente (/{id}/pedidos)
  * ✔ Formato de respuesta unificado ApiResponse
  */
 @Slf4j
@@ -22,14 +47,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ClienteController {
 
+    private static final int TAMANO_MAXIMO = 100;
+
     private final ClienteRepository clienteRepository;
+    private final ClienteService clienteService;
+    private final MergePatchReader mergePatchReader;
 
+    /**
+     * ✅ Listado con GET condicional
+     * - ETag = COUNT + MAX(updated_at) de clientes: con If-None-Match vigente se responde 304
+     *   sin cargar filas.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Cliente>>> findAll() {
+    public ResponseEntity<ApiResponse<List<Cliente>>> findAll(WebRequest request) {
         try {
+            ClienteRepository.VersionListado version = clienteRepository.versionListado();
+            String etag = ListadoEtag.de("clientes", version.getTotal(), version.getUltimaModificacion());
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(304).eTag(etag).cacheControl(CacheControl.noCache()).build();
+            }
             List<Cliente> clientes = clienteRepository.findAll();
             log.info("✅ Listado de clientes: {} registros", clientes.size());
-            return ResponseEntity.ok(ApiResponse.ok("Lista de clientes obtenida correctamente", clientes));
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.ok("Lista de clientes obtenida correctamente", clientes));
         } catch (Exception e) {
             log.error("❌ Error al listar clientes: {}", e.getMessage());
             return ResponseEntity.status(500)
@@ -37,13 +79,86 @@ public class ClienteController {
         }
     }
 
+    /**
+     * ✅ Búsqueda exacta por email (punto de venta)
+     * Endpoint: GET /api/clientes/by-email?email=
+     */
+    @GetMapping("/by-email")
+    public ResponseEntity<ApiResponse<List<ClienteResponse>>> findByEmail(@RequestParam String email) {
+        try {
+            List<ClienteResponse> clientes = clienteService.findByEmail(email);
+            if (clientes.isEmpty()) {
+                return ResponseEntity.status(404)
+                        .body(ApiResponse.fail("No existe un cliente con el email: " + email));
+            }
+            return ResponseEntity.ok(ApiResponse.ok("Cliente encontrado", clientes));
+        } catch (Exception e) {
+            log.error("❌ Error al buscar cliente por email: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al buscar cliente: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ Búsqueda paginada por email exacto, prefijo de teléfono y/o nombre
+     * Endpoint: GET /api/clientes/search?email=&telefono=&nombre=&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PageResponse<ClienteResponse>>> search(
+            @ModelAttribute ClienteSearchRequest filtro,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), TAMANO_MAXIMO),
+                    Sort.by("nombre").and(Sort.by("idCliente")));
+            PageResponse<ClienteResponse> resultado = clienteService.search(filtro, pageable);
+            return ResponseEntity.ok(ApiResponse.ok("Búsqueda de clientes completada", resultado));
+        } catch (Exception e) {
+            log.error("❌ Error al buscar clientes: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al buscar clientes: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ Último reporte de clientes probablemente duplicados
+     * Endpoint: GET /api/clientes/duplicados
+     */
+    @GetMapping("/duplicados")
+    public ResponseEntity<ApiResponse<ClienteDuplicadosReporte>> duplicados() {
+        try {
+            return ResponseEntity.ok(ApiResponse.ok("Reporte de duplicados", clienteService.ultimoReporteDuplicados()));
+        } catch (Exception e) {
+            log.error("❌ Error al obtener duplicados: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al obtener duplicados: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ Regenera el reporte de duplicados
+     * Endpoint: POST /api/clientes/duplicados
+     */
+    @PostMapping("/duplicados")
+    public ResponseEntity<ApiResponse<ClienteDuplicadosReporte>> detectarDuplicados() {
+        try {
+            return ResponseEntity.ok(ApiResponse.ok("Detección de duplicados completada", clienteService.detectarDuplicados()));
+        } catch (Exception e) {
+            log.error("❌ Error al detectar duplicados: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al detectar duplicados: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Cliente>> findById(@PathVariable Long id) {
         try {
             Cliente cliente = clienteRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
             log.info("✅ Cliente encontrado: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Cliente encontrado", cliente));
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.de(cliente.getVersion()))
+                    .body(ApiResponse.ok("Cliente encontrado", cliente));
         } catch (Exception e) {
             log.error("❌ Error al buscar cliente {}: {}", id, e.getMessage());
             return ResponseEntity.status(404)
@@ -51,6 +166,28 @@ public class ClienteController {
         }
     }
 
+    /**
+     * ✅ Historial de pedidos del cliente, más recientes primero, con totales históricos
+     * Endpoint: GET /api/clientes/{id}/pedidos?page=0&size=20
+     */
+    @GetMapping("/{id}/pedidos")
+    public ResponseEntity<ApiResponse<ClientePedidosResponse>> historialPedidos(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), TAMANO_MAXIMO));
+            return ResponseEntity.ok(ApiResponse.ok("Historial de pedidos del cliente",
+                    clienteService.historialPedidos(id, pageable)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(ApiResponse.fail(e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ Error al obtener pedidos del cliente {}: {}", id, e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al obtener pedidos del cliente: " + e.getMessage()));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<Cliente>> create(@RequestBody Cliente cliente) {
         try {
@@ -64,15 +201,22 @@ public class ClienteController {
         }
     }
 
+    /**
+     * ✅ Reemplazo con control de versión
+     * - If-Match: ETag de GET /{id} (o campo "version" del cuerpo); sin ninguno no se verifica
+     * - 412 si la versión no coincide, 409 si otra escritura se cruzó
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Cliente>> update(@PathVariable Long id, @RequestBody Cliente cliente) {
+    public ResponseEntity<ApiResponse<ClienteResponse>> update(@PathVariable Long id, @RequestBody Cliente cliente,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Cliente existing = clienteRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
-            cliente.setIdCliente(id);
-            Cliente updated = clienteRepository.save(cliente);
+            ClienteResponse updated = clienteService.update(id, VersionEtag.esperada(ifMatch, cliente.getVersion()), cliente);
             log.info("✅ Cliente actualizado: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Cliente actualizado correctamente", updated));
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.de(updated.getVersion()))
+                    .body(ApiResponse.ok("Cliente actualizado correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
         } catch (Exception e) {
             log.error("❌ Error al actualizar cliente {}: {}", id, e.getMessage());
             return ResponseEntity.status(400)
@@ -80,6 +224,30 @@ public class ClienteController {
         }
     }
 
+    /**
+     * ✅ Actualización parcial (JSON Merge Patch, RFC 7396): nombre, email, teléfono y/o dirección
+     * - Solo se escriben las columnas que cambian; null borra los campos opcionales
+     * - Mismo control de versión que PUT (If-Match o "version" en el documento)
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<ClienteResponse>> patch(@PathVariable Long id, @RequestBody JsonNode documento,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MergePatch<ClientePatchRequest> patch = mergePatchReader.leer(documento, ClientePatchRequest.class);
+        try {
+            ClienteResponse updated = clienteService.patch(id, VersionEtag.esperada(ifMatch, patch.cambios().getVersion()), patch);
+            log.info("✅ Cliente modificado: {}", id);
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.de(updated.getVersion()))
+                    .body(ApiResponse.ok("Cliente actualizado correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
+        } catch (Exception e) {
+            log.error("❌ Error al modificar cliente {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400)
+                    .body(ApiResponse.fail("Error al actualizar cliente: " + e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
         try {
@@ -3,9 +3,13 @@ package com.app.emsx.controllers;
 import com.app.emsx.dtos.department.DepartmentRequest;
 import com.app.emsx.dtos.department.DepartmentResponse;
 import com.app.emsx.common.ApiResponse;
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.MergePatchReader;
 import com.app.emsx.services.DepartmentService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +26,7 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService service;
+    private final MergePatchReader mergePatchReader;
 
     @PostMapping
     public ResponseEntity<ApiResponse<DepartmentResponse>> create(@Valid @RequestBody DepartmentRequest request) {
@@ -36,6 +41,16 @@ public class DepartmentController {
         return ResponseEntity.ok(ApiResponse.ok("Departamento actualizado correctamente", updated));
     }
 
+    /**
+     * ✅ Actualización parcial (JSON Merge Patch, RFC 7396)
+     * Endpoint: PATCH /api/departments/{id} — solo se escriben las columnas que cambian
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<DepartmentResponse>> patch(@PathVariable Long id, @RequestBody JsonNode documento) {
+        DepartmentResponse updated = service.patch(id, mergePatchReader.leer(documento, DepartmentRequest.class));
+        return ResponseEntity.ok(ApiResponse.ok("Departamento actualizado correctamente", updated));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<DepartmentResponse>>> findAll() {
         return ResponseEntity.ok(ApiResponse.ok("Lista de departamentos", service.findAll()));
@@ -3,9 +3,13 @@ package com.app.emsx.controllers;
 import com.app.emsx.dtos.employee.EmployeeRequest;
 import com.app.emsx.dtos.employee.EmployeeResponse;
 import com.app.emsx.common.ApiResponse;
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.MergePatchReader;
 import com.app.emsx.services.EmployeeService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +26,7 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService service;
+    private final MergePatchReader mergePatchReader;
 
     @PostMapping
     public ResponseEntity<ApiResponse<EmployeeResponse>> create(@Valid @RequestBody EmployeeRequest request) {
@@ -36,6 +41,16 @@ public class EmployeeController {
         return ResponseEntity.ok(ApiResponse.ok("Empleado actualizado correctamente", updated));
     }
 
+    /**
+     * ✅ Actualización parcial (JSON Merge Patch, RFC 7396)
+     * Endpoint: PATCH /api/employees/{id} — solo se escriben las columnas que cambian
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<EmployeeResponse>> patch(@PathVariable Long id, @RequestBody JsonNode documento) {
+        EmployeeResponse updated = service.patch(id, mergePatchReader.leer(documento, EmployeeRequest.class));
+        return ResponseEntity.ok(ApiResponse.ok("Empleado actualizado correctamente", updated));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<EmployeeResponse>>> findAll() {
         return ResponseEntity.ok(ApiResponse.ok("Lista de empleados", service.findAll()));
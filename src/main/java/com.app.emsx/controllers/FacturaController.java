@@ -1,19 +1,48 @@
 package com.app.emsx.controllers;
 
 import com.app.emsx.common.ApiResponse;
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.MergePatchReader;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.factura.FacturaPatchRequest;
+import com.app.emsx.dtos.factura.FacturacionBatchResponse;
 import com.app.emsx.entities.Factura;
+import com.app.emsx.exceptions.BusinessRuleException;
+import com.app.emsx.exceptions.PreconditionFailedException;
+import com.app.emsx.exceptions.ResourceNotFoundException;
 import com.app.emsx.repositories.FacturaRepository;
+import com.app.emsx.services.FacturaPdfService;
+import com.app.emsx.services.FacturaService;
+import com.app.emsx.services.FacturacionBatchService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * FacturaController
  * -----------------------------------------------------
  * ✔ CRUD completo para facturas
+ * ✔ PUT/PATCH con bloqueo optimista (If-Match → 412, escritura concurrente → 409)
+ * ✔ ETag de GET /{id}: versión de la factura + huella del pedido embebido
+ * ✔ Facturación por lotes de pedidos completados (/batch)
+ * ✔ PDF de factura con caché en disco (/{id}/pdf)
  * ✔ Formato de respuesta unificado ApiResponse
  */
 @Slf4j
@@ -23,6 +52,10 @@ import java.util.List;
 public class FacturaController {
 
     private final FacturaRepository facturaRepository;
+    private final FacturaService facturaService;
+    private final FacturacionBatchService facturacionBatchService;
+    private final FacturaPdfService facturaPdfService;
+    private final MergePatchReader mergePatchReader;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<Factura>>> findAll() {
@@ -43,7 +76,9 @@ public class FacturaController {
             Factura factura = facturaRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Factura no encontrada"));
             log.info("✅ Factura encontrada: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Factura encontrada", factura));
+            return ResponseEntity.ok()
+                    .eTag(etag(factura))
+                    .body(ApiResponse.ok("Factura encontrada", factura));
         } catch (Exception e) {
             log.error("❌ Error al buscar factura {}: {}", id, e.getMessage());
             return ResponseEntity.status(404)
@@ -51,10 +86,56 @@ public class FacturaController {
         }
     }
 
+    /**
+     * ✅ PDF de la factura
+     * Endpoint: GET /api/facturas/{id}/pdf
+     * - ETag = hash del contenido. La factura se puede editar (PUT/PATCH): el cliente puede
+     *   guardar el PDF pero revalida cada vez (no-cache) y recibe 304 mientras no cambie.
+     * - Con Tomcat NIO se usa sendfile; si no, FileChannel.transferTo hacia la respuesta.
+     */
+    @GetMapping("/{id}/pdf")
+    public void pdf(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FacturaPdfService.FacturaPdf pdf;
+        try {
+            pdf = facturaPdfService.obtenerPdf(id);
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ PDF de factura {} no disponible: {}", id, e.getMessage());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(503, "Generación de PDF saturada, reintente en unos segundos");
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + pdf.hash() + "\"")) {
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(pdf.archivo(), StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+            response.setContentLengthLong(tamano);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + pdf.nro() + ".pdf\"");
+
+            if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+                request.setAttribute("org.apache.tomcat.sendfile.filename", pdf.archivo().toAbsolutePath().toString());
+                request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+                request.setAttribute("org.apache.tomcat.sendfile.end", tamano);
+                return;
+            }
+
+            WritableByteChannel destino = Channels.newChannel(response.getOutputStream());
+            long enviado = 0;
+            while (enviado < tamano) {
+                enviado += canal.transferTo(enviado, tamano - enviado, destino);
+            }
+        }
+        log.info("✅ PDF de factura enviado: {}", id);
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<Factura>> create(@RequestBody Factura factura) {
         try {
-            Factura saved = facturaRepository.save(factura);
+            Factura saved = facturaService.create(factura);
             log.info("✅ Factura creada: {}", saved.getIdFactura());
             return ResponseEntity.ok(ApiResponse.ok("Factura creada correctamente", saved));
         } catch (Exception e) {
@@ -64,15 +145,22 @@ public class FacturaController {
         }
     }
 
+    /**
+     * ✅ Reemplazo con control de versión
+     * - If-Match: ETag de GET /{id} (o campo "version" del cuerpo); sin ninguno no se verifica
+     * - 412 si la versión no coincide, 409 si otra escritura se cruzó
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Factura>> update(@PathVariable Long id, @RequestBody Factura factura) {
+    public ResponseEntity<ApiResponse<Factura>> update(@PathVariable Long id, @RequestBody Factura factura,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Factura existing = facturaRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Factura no encontrada"));
-            factura.setIdFactura(id);
-            Factura updated = facturaRepository.save(factura);
+            Factura updated = facturaService.update(id, VersionEtag.esperada(ifMatch, factura.getVersion()), factura);
             log.info("✅ Factura actualizada: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Factura actualizada correctamente", updated));
+            return ResponseEntity.ok()
+                    .eTag(etag(updated))
+                    .body(ApiResponse.ok("Factura actualizada correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
         } catch (Exception e) {
             log.error("❌ Error al actualizar factura {}: {}", id, e.getMessage());
             return ResponseEntity.status(400)
@@ -80,6 +168,67 @@ public class FacturaController {
         }
     }
 
+    /**
+     * ✅ Lanza la facturación por lotes de pedidos COMPLETADO sin factura
+     * Endpoint: POST /api/facturas/batch (responde 202, el lote corre en segundo plano)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<FacturacionBatchResponse>> iniciarBatch() {
+        try {
+            FacturacionBatchResponse estado = facturacionBatchService.iniciar();
+            log.info("✅ Facturación por lotes iniciada");
+            return ResponseEntity.accepted()
+                    .body(ApiResponse.ok("Facturación por lotes iniciada", estado));
+        } catch (BusinessRuleException e) {
+            log.warn("⚠️ Facturación por lotes rechazada: {}", e.getMessage());
+            return ResponseEntity.status(409)
+                    .body(ApiResponse.fail(e.getMessage()));
+        } catch (Exception e) {
+            log.error("❌ Error al iniciar facturación por lotes: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al iniciar facturación por lotes: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ Progreso de la facturación por lotes
+     * Endpoint: GET /api/facturas/batch
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<FacturacionBatchResponse>> estadoBatch() {
+        try {
+            return ResponseEntity.ok(ApiResponse.ok("Estado de facturación por lotes", facturacionBatchService.estado()));
+        } catch (Exception e) {
+            log.error("❌ Error al obtener estado de facturación por lotes: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al obtener estado de facturación por lotes: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ Actualización parcial (JSON Merge Patch, RFC 7396): número, fecha y/o importes
+     * - Solo se escriben las columnas que cambian
+     * - Mismo control de versión que PUT (If-Match o "version" en el documento)
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<Factura>> patch(@PathVariable Long id, @RequestBody JsonNode documento,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MergePatch<FacturaPatchRequest> patch = mergePatchReader.leer(documento, FacturaPatchRequest.class);
+        try {
+            Factura updated = facturaService.patch(id, VersionEtag.esperada(ifMatch, patch.cambios().getVersion()), patch);
+            log.info("✅ Factura modificada: {}", id);
+            return ResponseEntity.ok()
+                    .eTag(etag(updated))
+                    .body(ApiResponse.ok("Factura actualizada correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
+        } catch (Exception e) {
+            log.error("❌ Error al modificar factura {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400)
+                    .body(ApiResponse.fail("Error al actualizar factura: " + e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
         try {
@@ -92,7 +241,14 @@ public class FacturaController {
                     .body(ApiResponse.fail("Error al eliminar factura: " + e.getMessage()));
         }
     }
-}
-
-
 
+    // La factura embebe el pedido completo (cliente, líneas, productos)
+    private static String etag(Factura factura) {
+        List<String> filas = new ArrayList<>();
+        if (factura.getPedido() != null) {
+            filas.add("pedido:" + factura.getPedido().getIdPedido() + "@" + factura.getPedido().getVersion());
+            filas.addAll(PedidoController.filasEmbebidas(factura.getPedido()));
+        }
+        return VersionEtag.de(factura.getVersion(), filas);
+    }
+}
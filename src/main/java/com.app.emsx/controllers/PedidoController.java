@@ -1,19 +1,40 @@
 package com.app.emsx.controllers;
 
 import com.app.emsx.common.ApiResponse;
+import com.app.emsx.common.ListadoEtag;
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.MergePatchReader;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.pedido.PedidoPatchRequest;
+import com.app.emsx.entities.Cliente;
 import com.app.emsx.entities.Pedido;
+import com.app.emsx.entities.PedidoProducto;
+import com.app.emsx.exceptions.PreconditionFailedException;
+import com.app.emsx.exceptions.ResourceNotFoundException;
 import com.app.emsx.repositories.PedidoRepository;
+import com.app.emsx.services.PedidoService;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * PedidoController
  * -----------------------------------------------------
  * ✔ CRUD completo para pedidos
+ * ✔ Listado con ETag y respuesta 304 (If-None-Match)
+ * ✔ PUT/PATCH con bloqueo optimista (If-Match → 412, escritura concurrente → 409)
+ * ✔ ETag de GET /{id}: versión del pedido + huella de cliente y líneas embebidas
  * ✔ Formato de respuesta unificado ApiResponse
  */
 @Slf4j
@@ -23,13 +44,31 @@ import java.util.List;
 public class PedidoController {
 
     private final PedidoRepository pedidoRepository;
+    private final PedidoService pedidoService;
+    private final MergePatchReader mergePatchReader;
 
+    /**
+     * ✅ Listado con GET condicional
+     * - El ETag sale de la versión del listado (una consulta de agregados): con If-None-Match
+     *   vigente se responde 304 sin cargar pedidos, líneas ni clientes.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Pedido>>> findAll() {
+    public ResponseEntity<ApiResponse<List<Pedido>>> findAll(WebRequest request) {
         try {
+            PedidoRepository.VersionListado version = pedidoRepository.versionListado();
+            String etag = ListadoEtag.de("pedidos",
+                    version.getTotalPedidos(), version.getUltimoPedido(),
+                    version.getTotalLineas(), version.getUltimaLinea(),
+                    version.getUltimoCliente(), version.getUltimoProducto());
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(304).eTag(etag).cacheControl(CacheControl.noCache()).build();
+            }
             List<Pedido> pedidos = pedidoRepository.findAll();
             log.info("✅ Listado de pedidos: {} registros", pedidos.size());
-            return ResponseEntity.ok(ApiResponse.ok("Lista de pedidos obtenida correctamente", pedidos));
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.ok("Lista de pedidos obtenida correctamente", pedidos));
         } catch (Exception e) {
             log.error("❌ Error al listar pedidos: {}", e.getMessage());
             return ResponseEntity.status(500)
@@ -43,7 +82,9 @@ public class PedidoController {
             Pedido pedido = pedidoRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Pedido no encontrado"));
             log.info("✅ Pedido encontrado: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Pedido encontrado", pedido));
+            return ResponseEntity.ok()
+                    .eTag(etag(pedido))
+                    .body(ApiResponse.ok("Pedido encontrado", pedido));
         } catch (Exception e) {
             log.error("❌ Error al buscar pedido {}: {}", id, e.getMessage());
             return ResponseEntity.status(404)
@@ -54,7 +95,7 @@ public class PedidoController {
     @PostMapping
     public ResponseEntity<ApiResponse<Pedido>> create(@RequestBody Pedido pedido) {
         try {
-            Pedido saved = pedidoRepository.save(pedido);
+            Pedido saved = pedidoService.create(pedido);
             log.info("✅ Pedido creado: {}", saved.getIdPedido());
             return ResponseEntity.ok(ApiResponse.ok("Pedido creado correctamente", saved));
         } catch (Exception e) {
@@ -64,15 +105,22 @@ public class PedidoController {
         }
     }
 
+    /**
+     * ✅ Reemplazo con control de versión
+     * - If-Match: ETag de GET /{id} (o campo "version" del cuerpo); sin ninguno no se verifica
+     * - 412 si la versión no coincide, 409 si otra escritura se cruzó
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Pedido>> update(@PathVariable Long id, @RequestBody Pedido pedido) {
+    public ResponseEntity<ApiResponse<Pedido>> update(@PathVariable Long id, @RequestBody Pedido pedido,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Pedido existing = pedidoRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Pedido no encontrado"));
-            pedido.setIdPedido(id);
-            Pedido updated = pedidoRepository.save(pedido);
+            Pedido updated = pedidoService.update(id, VersionEtag.esperada(ifMatch, pedido.getVersion()), pedido);
             log.info("✅ Pedido actualizado: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Pedido actualizado correctamente", updated));
+            return ResponseEntity.ok()
+                    .eTag(etag(updated))
+                    .body(ApiResponse.ok("Pedido actualizado correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
         } catch (Exception e) {
             log.error("❌ Error al actualizar pedido {}: {}", id, e.getMessage());
             return ResponseEntity.status(400)
@@ -80,6 +128,30 @@ public class PedidoController {
         }
     }
 
+    /**
+     * ✅ Actualización parcial (JSON Merge Patch, RFC 7396): estado, fecha y/o total
+     * - Solo se escriben las columnas que cambian
+     * - Mismo control de versión que PUT (If-Match o "version" en el documento)
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<Pedido>> patch(@PathVariable Long id, @RequestBody JsonNode documento,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MergePatch<PedidoPatchRequest> patch = mergePatchReader.leer(documento, PedidoPatchRequest.class);
+        try {
+            Pedido updated = pedidoService.patch(id, VersionEtag.esperada(ifMatch, patch.cambios().getVersion()), patch);
+            log.info("✅ Pedido modificado: {}", id);
+            return ResponseEntity.ok()
+                    .eTag(etag(updated))
+                    .body(ApiResponse.ok("Pedido actualizado correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
+        } catch (Exception e) {
+            log.error("❌ Error al modificar pedido {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400)
+                    .body(ApiResponse.fail("Error al actualizar pedido: " + e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
         try {
@@ -92,7 +164,23 @@ public class PedidoController {
                     .body(ApiResponse.fail("Error al eliminar pedido: " + e.getMessage()));
         }
     }
-}
-
 
+    // El JSON del pedido incluye cliente y líneas con su producto: renombrarlos no cambia Pedido.version
+    static String etag(Pedido pedido) {
+        return VersionEtag.de(pedido.getVersion(), filasEmbebidas(pedido));
+    }
 
+    static List<String> filasEmbebidas(Pedido pedido) {
+        List<String> filas = new ArrayList<>();
+        Cliente cliente = pedido.getCliente();
+        if (cliente != null) filas.add("cliente:" + cliente.getIdCliente() + "@" + cliente.getVersion());
+        if (pedido.getPedidoProductos() != null) {
+            pedido.getPedidoProductos().stream()
+                    .sorted(Comparator.comparing(PedidoProducto::getId))
+                    .forEach(linea -> filas.add("linea:" + linea.getId() + ":" + linea.getCantidad()
+                            + ":" + linea.getPrecioUnitario() + ":" + linea.getSubtotal()
+                            + ":producto:" + linea.getProducto().getIdProd() + "@" + linea.getProducto().getVersion()));
+        }
+        return filas;
+    }
+}
@@ -1,19 +1,41 @@
 package com.app.emsx.controllers;
 
 import com.app.emsx.common.ApiResponse;
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.MergePatchReader;
+import com.app.emsx.common.PageResponse;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.producto.ProductoPatchRequest;
+import com.app.emsx.dtos.producto.ProductoResponse;
+import com.app.emsx.dtos.producto.ProductoSearchRequest;
 import com.app.emsx.entities.Producto;
-import com.app.emsx.repositories.ProductoRepository;
+import com.app.emsx.exceptions.PreconditionFailedException;
+import com.app.emsx.exceptions.ResourceNotFoundException;
+import com.app.emsx.services.ProductoService;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * ProductoController
  * -----------------------------------------------------
  * ✔ CRUD completo para productos
+ * ✔ Lecturas servidas desde la caché del catálogo (ProductoService)
+ * ✔ ETag / If-None-Match en el listado (304 si el catálogo no cambió)
+ * ✔ PUT/PATCH con bloqueo optimista (If-Match → 412, escritura concurrente → 409)
+ * ✔ Búsqueda paginada con filtros (/search)
  * ✔ Formato de respuesta unificado ApiResponse
  */
 @Slf4j
@@ -22,14 +44,25 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductoController {
 
-    private final ProductoRepository productoRepository;
+    private static final Set<String> CAMPOS_ORDEN = Set.of("nombre", "precio", "stock", "createdAt");
+    private static final int TAMANO_MAXIMO = 100;
+
+    private final ProductoService productoService;
+    private final MergePatchReader mergePatchReader;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Producto>>> findAll() {
+    public ResponseEntity<ApiResponse<List<ProductoResponse>>> findAll(WebRequest request) {
         try {
-            List<Producto> productos = productoRepository.findAll();
-            log.info("✅ Listado de productos: {} registros", productos.size());
-            return ResponseEntity.ok(ApiResponse.ok("Lista de productos obtenida correctamente", productos));
+            String etag = productoService.catalogEtag();
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(304).eTag(etag).cacheControl(CacheControl.noCache()).build();
+            }
+            List<ProductoResponse> productos = productoService.findAll();
+            log.debug("✅ Listado de productos: {} registros", productos.size());
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.ok("Lista de productos obtenida correctamente", productos));
         } catch (Exception e) {
             log.error("❌ Error al listar productos: {}", e.getMessage());
             return ResponseEntity.status(500)
@@ -37,13 +70,45 @@ public class ProductoController {
         }
     }
 
+    /**
+     * ✅ Búsqueda de productos
+     * Endpoint: GET /api/productos/search?q=&precioMin=&precioMax=&enStock=&page=0&size=20&sort=precio,asc
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PageResponse<ProductoResponse>>> search(
+            @ModelAttribute ProductoSearchRequest filtro,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "nombre,asc") String sort) {
+        try {
+            String[] partes = sort.split(",");
+            if (!CAMPOS_ORDEN.contains(partes[0])) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.fail("Campo de orden no permitido: " + partes[0] + ". Use: " + CAMPOS_ORDEN));
+            }
+            Sort.Direction direccion = partes.length > 1 && "desc".equalsIgnoreCase(partes[1])
+                    ? Sort.Direction.DESC : Sort.Direction.ASC;
+            PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), TAMANO_MAXIMO),
+                    Sort.by(direccion, partes[0]).and(Sort.by("idProd")));
+
+            PageResponse<ProductoResponse> resultado = productoService.search(filtro, pageable);
+            log.debug("✅ Búsqueda de productos: {} resultados", resultado.getTotalElements());
+            return ResponseEntity.ok(ApiResponse.ok("Búsqueda de productos completada", resultado));
+        } catch (Exception e) {
+            log.error("❌ Error al buscar productos: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.fail("Error al buscar productos: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Producto>> findById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<ProductoResponse>> findById(@PathVariable Long id) {
         try {
-            Producto producto = productoRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
-            log.info("✅ Producto encontrado: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Producto encontrado", producto));
+            ProductoResponse producto = productoService.findById(id);
+            log.debug("✅ Producto encontrado: {}", id);
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.de(producto.getVersion()))
+                    .body(ApiResponse.ok("Producto encontrado", producto));
         } catch (Exception e) {
             log.error("❌ Error al buscar producto {}: {}", id, e.getMessage());
             return ResponseEntity.status(404)
@@ -52,9 +117,9 @@ public class ProductoController {
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<Producto>> create(@RequestBody Producto producto) {
+    public ResponseEntity<ApiResponse<ProductoResponse>> create(@RequestBody Producto producto) {
         try {
-            Producto saved = productoRepository.save(producto);
+            ProductoResponse saved = productoService.create(producto);
             log.info("✅ Producto creado: {}", saved.getIdProd());
             return ResponseEntity.ok(ApiResponse.ok("Producto creado correctamente", saved));
         } catch (Exception e) {
@@ -64,15 +129,22 @@ public class ProductoController {
         }
     }
 
+    /**
+     * ✅ Reemplazo con control de versión
+     * - If-Match: ETag de GET /{id} (o campo "version" del cuerpo); sin ninguno no se verifica
+     * - 412 si la versión no coincide, 409 si otra escritura se cruzó
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Producto>> update(@PathVariable Long id, @RequestBody Producto producto) {
+    public ResponseEntity<ApiResponse<ProductoResponse>> update(@PathVariable Long id, @RequestBody Producto producto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Producto existing = productoRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
-            producto.setIdProd(id);
-            Producto updated = productoRepository.save(producto);
+            ProductoResponse updated = productoService.update(id, VersionEtag.esperada(ifMatch, producto.getVersion()), producto);
             log.info("✅ Producto actualizado: {}", id);
-            return ResponseEntity.ok(ApiResponse.ok("Producto actualizado correctamente", updated));
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.de(updated.getVersion()))
+                    .body(ApiResponse.ok("Producto actualizado correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
         } catch (Exception e) {
             log.error("❌ Error al actualizar producto {}: {}", id, e.getMessage());
             return ResponseEntity.status(400)
@@ -80,10 +152,34 @@ public class ProductoController {
         }
     }
 
+    /**
+     * ✅ Actualización parcial (JSON Merge Patch, RFC 7396): nombre, descripción, precio y/o stock
+     * - Solo se escriben las columnas que cambian; null borra los campos opcionales
+     * - Mismo control de versión que PUT (If-Match o "version" en el documento)
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<ProductoResponse>> patch(@PathVariable Long id, @RequestBody JsonNode documento,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MergePatch<ProductoPatchRequest> patch = mergePatchReader.leer(documento, ProductoPatchRequest.class);
+        try {
+            ProductoResponse updated = productoService.patch(id, VersionEtag.esperada(ifMatch, patch.cambios().getVersion()), patch);
+            log.info("✅ Producto modificado: {}", id);
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.de(updated.getVersion()))
+                    .body(ApiResponse.ok("Producto actualizado correctamente", updated));
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e; // GlobalExceptionHandler: 404 / 412 / 409
+        } catch (Exception e) {
+            log.error("❌ Error al modificar producto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400)
+                    .body(ApiResponse.fail("Error al actualizar producto: " + e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
         try {
-            productoRepository.deleteById(id);
+            productoService.delete(id);
             log.info("✅ Producto eliminado: {}", id);
             return ResponseEntity.ok(ApiResponse.ok("Producto eliminado correctamente", null));
         } catch (Exception e) {
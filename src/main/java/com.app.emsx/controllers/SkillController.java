@@ -3,9 +3,13 @@ package com.app.emsx.controllers;
 import com.app.emsx.dtos.skill.SkillRequest;
 import com.app.emsx.dtos.skill.SkillResponse;
 import com.app.emsx.common.ApiResponse;
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.MergePatchReader;
 import com.app.emsx.services.SkillService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +26,7 @@ import java.util.List;
 public class SkillController {
 
     private final SkillService service;
+    private final MergePatchReader mergePatchReader;
 
     @PostMapping
     public ResponseEntity<ApiResponse<SkillResponse>> create(@Valid @RequestBody SkillRequest request) {
@@ -36,6 +41,16 @@ public class SkillController {
         return ResponseEntity.ok(ApiResponse.ok("Habilidad actualizada correctamente", updated));
     }
 
+    /**
+     * ✅ Actualización parcial (JSON Merge Patch, RFC 7396)
+     * Endpoint: PATCH /api/skills/{id} — solo se escriben las columnas que cambian
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<SkillResponse>> patch(@PathVariable Long id, @RequestBody JsonNode documento) {
+        SkillResponse updated = service.patch(id, mergePatchReader.leer(documento, SkillRequest.class));
+        return ResponseEntity.ok(ApiResponse.ok("Habilidad actualizada correctamente", updated));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<SkillResponse>>> findAll() {
         return ResponseEntity.ok(ApiResponse.ok("Lista de habilidades", service.findAll()));
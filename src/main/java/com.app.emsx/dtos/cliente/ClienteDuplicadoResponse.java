@@ -0,0 +1,16 @@
+package com.app.emsx.dtos.cliente;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClienteDuplicadoResponse {
+
+    private List<Long> idsClientes;  // ✅ Clientes que probablemente son la misma persona
+    private Set<String> motivos;     // EMAIL, TELEFONO, NOMBRE_DIRECCION
+}
@@ -0,0 +1,17 @@
+package com.app.emsx.dtos.cliente;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClienteDuplicadosReporte {
+
+    private LocalDateTime generadoEn;
+    private long clientesAnalizados;
+    private List<ClienteDuplicadoResponse> grupos;
+}
@@ -0,0 +1,27 @@
+package com.app.emsx.dtos.cliente;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * PATCH /api/clientes/{id} (JSON Merge Patch): los miembros ausentes no cambian,
+ * null borra el valor (solo en campos opcionales).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientePatchRequest {
+
+    @NotBlank(message = "El nombre del cliente no puede quedar vacío")
+    private String nombre;
+
+    @NotBlank(message = "El email no puede quedar vacío")
+    @Email(message = "Debe proporcionar un correo válido")
+    private String email;
+
+    private String telefono;
+    private String direccion;
+    private Long version;       // ✅ Alternativa a If-Match
+}
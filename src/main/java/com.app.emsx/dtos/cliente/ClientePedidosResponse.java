@@ -0,0 +1,19 @@
+package com.app.emsx.dtos.cliente;
+
+import com.app.emsx.common.PageResponse;
+import com.app.emsx.dtos.pedido.PedidoResumenResponse;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientePedidosResponse {
+
+    private Long idCliente;
+    private long totalPedidos;                           // ✅ Pedidos históricos del cliente
+    private BigDecimal montoTotal;                       // ✅ Suma histórica de pedido.total
+    private PageResponse<PedidoResumenResponse> pedidos; // ✅ Página de pedidos, más recientes primero
+}
@@ -0,0 +1,21 @@
+package com.app.emsx.dtos.cliente;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClienteResponse {
+
+    private Long idCliente;
+    private String nombre;
+    private String email;
+    private String telefono;
+    private String direccion;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;           // ✅ Para If-Match en PUT/PATCH
+}
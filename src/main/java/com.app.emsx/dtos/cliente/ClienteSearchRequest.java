@@ -0,0 +1,14 @@
+package com.app.emsx.dtos.cliente;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClienteSearchRequest {
+
+    private String email;       // ✅ Email exacto (sin distinguir mayúsculas)
+    private String telefono;    // ✅ Prefijo de teléfono
+    private String nombre;      // ✅ Texto contenido en el nombre
+}
@@ -0,0 +1,34 @@
+package com.app.emsx.dtos.factura;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * PATCH /api/facturas/{id} (JSON Merge Patch): los miembros ausentes no cambian.
+ * Todos los campos son obligatorios, así que ninguno admite null.
+ * El pedido facturado no se cambia por esta vía.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacturaPatchRequest {
+
+    @NotBlank(message = "El número de factura no puede quedar vacío")
+    private String nro;
+
+    @NotNull(message = "La fecha no puede quedar vacía")
+    private LocalDateTime fecha;
+
+    @NotNull(message = "El subtotal no puede quedar vacío")
+    private BigDecimal subtotal;
+
+    @NotNull(message = "El total no puede quedar vacío")
+    private BigDecimal total;
+
+    private Long version;           // ✅ Alternativa a If-Match
+}
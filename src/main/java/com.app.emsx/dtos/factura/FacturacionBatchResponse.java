@@ -0,0 +1,17 @@
+package com.app.emsx.dtos.factura;
+
+import com.app.emsx.entities.BatchCheckpoint;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacturacionBatchResponse {
+
+    private boolean enEjecucion;                // true si hay un lote corriendo en esta instancia
+    private long facturasCreadas;               // total de facturas creadas en la ejecución actual/última
+    private List<BatchCheckpoint> particiones;  // ✅ Progreso por partición
+}
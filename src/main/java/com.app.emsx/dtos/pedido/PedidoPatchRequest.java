@@ -0,0 +1,31 @@
+package com.app.emsx.dtos.pedido;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * PATCH /api/pedidos/{id} (JSON Merge Patch): los miembros ausentes no cambian.
+ * Todos los campos son obligatorios, así que ninguno admite null.
+ * El cliente y las líneas no se cambian por esta vía.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoPatchRequest {
+
+    @NotBlank(message = "El estado no puede quedar vacío")
+    private String estado;          // PENDIENTE, COMPLETADO, CANCELADO
+
+    @NotNull(message = "La fecha no puede quedar vacía")
+    private LocalDateTime fecha;
+
+    @NotNull(message = "El total no puede quedar vacío")
+    private BigDecimal total;
+
+    private Long version;           // ✅ Alternativa a If-Match
+}
@@ -0,0 +1,18 @@
+package com.app.emsx.dtos.pedido;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoResumenResponse {
+
+    private Long idPedido;
+    private LocalDateTime fecha;
+    private BigDecimal total;
+    private String estado;
+}
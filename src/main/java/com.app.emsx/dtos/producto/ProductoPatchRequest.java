@@ -0,0 +1,34 @@
+package com.app.emsx.dtos.producto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * PATCH /api/productos/{id} (JSON Merge Patch): los miembros ausentes no cambian,
+ * null borra el valor (solo en campos opcionales).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductoPatchRequest {
+
+    @NotBlank(message = "El nombre del producto no puede quedar vacío")
+    private String nombre;
+
+    private String descripcion;
+
+    @NotNull(message = "El precio no puede quedar vacío")
+    @PositiveOrZero(message = "El precio no puede ser negativo")
+    private BigDecimal precio;
+
+    @NotNull(message = "El stock no puede quedar vacío")
+    @PositiveOrZero(message = "El stock no puede ser negativo")
+    private Integer stock;
+
+    private Long version;       // ✅ Alternativa a If-Match
+}
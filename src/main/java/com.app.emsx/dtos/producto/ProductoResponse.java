@@ -0,0 +1,22 @@
+package com.app.emsx.dtos.producto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductoResponse {
+
+    private Long idProd;
+    private String nombre;
+    private String descripcion;
+    private BigDecimal precio;
+    private Integer stock;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;           // ✅ Para If-Match en PUT/PATCH
+}
@@ -0,0 +1,17 @@
+package com.app.emsx.dtos.producto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductoSearchRequest {
+
+    private String q;               // ✅ Texto a buscar en nombre o descripción
+    private BigDecimal precioMin;   // ✅ Precio mínimo (inclusive)
+    private BigDecimal precioMax;   // ✅ Precio máximo (inclusive)
+    private boolean enStock;        // ✅ Solo productos con stock > 0
+}
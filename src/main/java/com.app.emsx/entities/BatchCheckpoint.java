@@ -0,0 +1,44 @@
+package com.app.emsx.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * BatchCheckpoint Entity
+ * -----------------------------------------------------
+ * ✔ Guarda el progreso de los procesos por lotes (una fila por partición)
+ * ✔ Permite reanudar un lote interrumpido desde el último ID procesado
+ * ✔ Mapea a la tabla "batch_checkpoints" en la BD
+ */
+@Entity
+@Table(name = "batch_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckpoint {
+
+    public static final String EN_CURSO = "EN_CURSO";
+    public static final String COMPLETADO = "COMPLETADO";
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName; // ej: facturacion-0, facturacion-1, ...
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(nullable = false)
+    private Long procesados;
+
+    @Column(nullable = false)
+    private String estado; // EN_CURSO, COMPLETADO
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
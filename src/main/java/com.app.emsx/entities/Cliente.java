@@ -2,7 +2,9 @@ package com.app.emsx.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,8 +14,10 @@ import java.time.LocalDateTime;
  * -----------------------------------------------------
  * ✔ Representa un cliente del sistema
  * ✔ Mapea a la tabla "clientes" en la BD
+ * ✔ @Version (bloqueo optimista) y @DynamicUpdate: el UPDATE solo escribe las columnas modificadas
  */
 @Entity
+@DynamicUpdate
 @Table(name = "clientes")
 @Getter
 @Setter
@@ -44,6 +48,11 @@ public class Cliente {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
 
 
@@ -2,7 +2,9 @@ package com.app.emsx.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,8 +14,10 @@ import java.time.LocalDateTime;
  * -----------------------------------------------------
  * ✔ Representa una factura del sistema
  * ✔ Mapea a la tabla "facturas" en la BD
+ * ✔ @Version (bloqueo optimista) y @DynamicUpdate: el UPDATE solo escribe las columnas modificadas
  */
 @Entity
+@DynamicUpdate
 @Table(name = "facturas")
 @Getter
 @Setter
@@ -46,6 +50,11 @@ public class Factura {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
 
 
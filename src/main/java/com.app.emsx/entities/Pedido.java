@@ -2,7 +2,9 @@ package com.app.emsx.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -14,8 +16,10 @@ import java.util.List;
  * -----------------------------------------------------
  * ✔ Representa un pedido del sistema
  * ✔ Mapea a la tabla "pedidos" en la BD
+ * ✔ @Version (bloqueo optimista) y @DynamicUpdate: el UPDATE solo escribe las columnas modificadas
  */
 @Entity
+@DynamicUpdate
 @Table(name = "pedidos")
 @Getter
 @Setter
@@ -52,6 +56,11 @@ public class Pedido {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
 
 
@@ -2,7 +2,9 @@ package com.app.emsx.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -13,9 +15,13 @@ import java.time.LocalDateTime;
  * -----------------------------------------------------
  * ✔ Representa un producto del sistema
  * ✔ Mapea a la tabla "productos" en la BD
+ * ✔ @Version (bloqueo optimista) y @DynamicUpdate: el UPDATE solo escribe las columnas modificadas
  */
 @Entity
-@Table(name = "productos")
+@DynamicUpdate
+@Table(name = "productos", indexes = {
+        @Index(name = "idx_productos_precio", columnList = "precio")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -46,6 +52,11 @@ public class Producto {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
 
 
@@ -2,8 +2,11 @@ package com.app.emsx.exceptions;
 
 import com.app.emsx.common.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -46,6 +49,38 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    /**
+     * ⚠️ Validaciones fuera de @Valid (p. ej. campos de un merge patch)
+     * Retorna: HTTP 400 (Bad Request) con el mensaje de cada campo
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleConstraintViolation(ConstraintViolationException ex) {
+        Map<String, String> fieldErrors = new HashMap<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<Map<String, String>>builder()
+                        .success(false)
+                        .message("Error de validación en uno o más campos")
+                        .data(fieldErrors)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+    }
+
+    /**
+     * ⚠️ Cuerpo que no se puede aplicar (400)
+     * Ejemplo: merge patch con campos no modificables o de tipo incorrecto
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidRequest(InvalidRequestException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.fail(ex.getMessage()));
+    }
+
     /**
      * 🚫 Recursos no encontrados (404)
      * Ejemplo: buscar un empleado o departamento inexistente
@@ -68,6 +103,28 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.fail(ex.getMessage()));
     }
 
+    /**
+     * 🔒 If-Match / "version" no coincide con la versión actual (412)
+     * El cliente debe volver a leer el recurso antes de guardar
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePreconditionFailed(PreconditionFailedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiResponse.fail(ex.getMessage()));
+    }
+
+    /**
+     * 🔒 Escritura concurrente detectada por @Version (409)
+     * Otra transacción modificó la fila entre la lectura y el UPDATE
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLocking(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.fail("El registro fue modificado por otra operación. Vuelva a leerlo e intente de nuevo"));
+    }
+
     /**
      * 💥 Errores genéricos no controlados (500)
      * Retorna: HTTP 500 (Internal Server Error)
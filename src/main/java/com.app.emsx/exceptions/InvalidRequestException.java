@@ -0,0 +1,21 @@
+package com.app.emsx.exceptions;
+
+/**
+ * 🧩 InvalidRequestException
+ * ---------------------------------------------------------
+ * Se lanza cuando el cuerpo de la petición no se puede aplicar tal como llegó,
+ * por ejemplo un merge patch (RFC 7396) que no es un objeto JSON, que nombra
+ * campos no modificables o que trae un valor del tipo equivocado.
+ *
+ * Es capturada por el GlobalExceptionHandler y devuelve HTTP 400 (Bad Request)
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.emsx.exceptions;
+
+/**
+ * 🔒 PreconditionFailedException
+ * ---------------------------------------------------------
+ * Se lanza cuando la versión enviada en If-Match (o en el campo "version")
+ * no coincide con la versión actual del recurso: el cliente editó una copia
+ * desactualizada y debe volver a leerlo antes de escribir.
+ *
+ * Es capturada por el GlobalExceptionHandler y devuelve HTTP 412 (Precondition Failed)
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
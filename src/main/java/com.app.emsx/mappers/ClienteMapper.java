@@ -0,0 +1,26 @@
+package com.app.emsx.mappers;
+
+import com.app.emsx.dtos.cliente.ClientePatchRequest;
+import com.app.emsx.dtos.cliente.ClienteResponse;
+import com.app.emsx.entities.Cliente;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ClienteMapper {
+
+    ClienteResponse toResponse(Cliente entity);
+
+    List<ClienteResponse> toResponseList(List<Cliente> entities);
+
+    // ✅ Actualización parcial: los campos null del DTO no se copian (la versión la maneja Hibernate)
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void updateEntityFromRequest(ClientePatchRequest dto, @MappingTarget Cliente entity);
+}
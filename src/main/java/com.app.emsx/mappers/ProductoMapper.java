@@ -0,0 +1,26 @@
+package com.app.emsx.mappers;
+
+import com.app.emsx.dtos.producto.ProductoPatchRequest;
+import com.app.emsx.dtos.producto.ProductoResponse;
+import com.app.emsx.entities.Producto;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ProductoMapper {
+
+    ProductoResponse toResponse(Producto entity);
+
+    List<ProductoResponse> toResponseList(List<Producto> entities);
+
+    // ✅ Actualización parcial: los campos null del DTO no se copian (la versión la maneja Hibernate)
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void updateEntityFromRequest(ProductoPatchRequest dto, @MappingTarget Producto entity);
+}
@@ -0,0 +1,14 @@
+package com.app.emsx.repositories;
+
+import com.app.emsx.entities.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+
+    // ✅ Obtiene los checkpoints de todas las particiones de un proceso (ej: "facturacion-")
+    List<BatchCheckpoint> findByJobNameStartingWithOrderByJobName(String prefix);
+}
@@ -2,10 +2,28 @@ package com.app.emsx.repositories;
 
 import com.app.emsx.entities.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteRepositoryCustom {
+
+    // ✅ Email exacto sin distinguir mayúsculas (usa el índice idx_clientes_email_lower)
+    @Query("SELECT c FROM Cliente c WHERE lower(c.email) = lower(:email) ORDER BY c.idCliente")
+    List<Cliente> findByEmailNormalizado(@Param("email") String email);
+
+    // ✅ Versión del listado completo (GET /api/clientes): COUNT detecta borrados, MAX(updated_at) altas y cambios
+    @Query("SELECT COUNT(c) AS total, MAX(c.updatedAt) AS ultimaModificacion FROM Cliente c")
+    VersionListado versionListado();
+
+    interface VersionListado {
+        long getTotal();
+        LocalDateTime getUltimaModificacion();
+    }
 }
 
 
@@ -0,0 +1,17 @@
+package com.app.emsx.repositories;
+
+import com.app.emsx.dtos.cliente.ClienteResponse;
+import com.app.emsx.dtos.cliente.ClienteSearchRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Consultas de cliente que no se pueden expresar con métodos derivados.
+ */
+public interface ClienteRepositoryCustom {
+
+    /**
+     * ✅ Búsqueda paginada con filtros opcionales, proyectada directamente a DTO.
+     */
+    Page<ClienteResponse> search(ClienteSearchRequest filtro, Pageable pageable);
+}
@@ -0,0 +1,76 @@
+package com.app.emsx.repositories;
+
+import com.app.emsx.dtos.cliente.ClienteResponse;
+import com.app.emsx.dtos.cliente.ClienteSearchRequest;
+import com.app.emsx.entities.Cliente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Implementación de ClienteRepositoryCustom (Criteria API).
+ * - lower(email) = lower(?)   → índice idx_clientes_email_lower
+ * - telefono LIKE 'prefijo%'  → índice idx_clientes_telefono_prefix (text_pattern_ops)
+ * - nombre ILIKE '%texto%'    → índice GIN trigram idx_clientes_nombre_trgm
+ */
+public class ClienteRepositoryImpl implements ClienteRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ClienteResponse> search(ClienteSearchRequest filtro, Pageable pageable) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ClienteResponse> query = cb.createQuery(ClienteResponse.class);
+        Root<Cliente> c = query.from(Cliente.class);
+        query.select(cb.construct(ClienteResponse.class,
+                        c.get("idCliente"), c.get("nombre"), c.get("email"), c.get("telefono"),
+                        c.get("direccion"), c.get("createdAt"), c.get("updatedAt"), c.get("version")))
+                .where(filtros(cb, c, filtro))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), c, cb));
+
+        List<ClienteResponse> contenido = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        if (pageable.getOffset() == 0 && contenido.size() < pageable.getPageSize()) {
+            return new PageImpl<>(contenido, pageable, contenido.size());
+        }
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<Cliente> total = count.from(Cliente.class);
+        count.select(cb.count(total)).where(filtros(cb, total, filtro));
+        return new PageImpl<>(contenido, pageable, entityManager.createQuery(count).getSingleResult());
+    }
+
+    private Predicate[] filtros(HibernateCriteriaBuilder cb, Root<Cliente> c, ClienteSearchRequest filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+
+        if (filtro.getEmail() != null && !filtro.getEmail().isBlank()) {
+            predicados.add(cb.equal(cb.lower(c.get("email")), filtro.getEmail().trim().toLowerCase(Locale.ROOT)));
+        }
+        if (filtro.getTelefono() != null && !filtro.getTelefono().isBlank()) {
+            predicados.add(cb.like(c.get("telefono"), escaparLike(filtro.getTelefono().trim()) + "%", '\\'));
+        }
+        if (filtro.getNombre() != null && !filtro.getNombre().isBlank()) {
+            predicados.add(cb.ilike(c.get("nombre"), "%" + escaparLike(filtro.getNombre().trim()) + "%", '\\'));
+        }
+        return predicados.toArray(Predicate[]::new);
+    }
+
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
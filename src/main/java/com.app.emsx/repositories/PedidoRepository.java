@@ -1,10 +1,16 @@
 package com.app.emsx.repositories;
 
+import com.app.emsx.dtos.pedido.PedidoResumenResponse;
 import com.app.emsx.entities.Pedido;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +21,40 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     
     @EntityGraph(attributePaths = {"cliente", "pedidoProductos", "pedidoProductos.producto"})
     Optional<Pedido> findById(Long id);
+
+    // ✅ Historial de un cliente, más recientes primero (índice idx_pedidos_cliente_fecha, cubre total/estado)
+    @Query("SELECT new com.app.emsx.dtos.pedido.PedidoResumenResponse(p.idPedido, p.fecha, p.total, p.estado) " +
+            "FROM Pedido p WHERE p.cliente.idCliente = :idCliente ORDER BY p.fecha DESC, p.idPedido DESC")
+    List<PedidoResumenResponse> findResumenByCliente(@Param("idCliente") Long idCliente, Pageable pageable);
+
+    // ✅ Totales históricos de un cliente (cantidad y monto)
+    @Query("SELECT COUNT(p) AS totalPedidos, COALESCE(SUM(p.total), 0) AS montoTotal " +
+            "FROM Pedido p WHERE p.cliente.idCliente = :idCliente")
+    TotalesCliente totalesByCliente(@Param("idCliente") Long idCliente);
+
+    // ✅ Versión del listado completo (GET /api/pedidos): el JSON incluye cliente y líneas con su producto,
+    // así que cuentan las cuatro tablas. COUNT detecta borrados; MAX(updated_at) usa los índices de V4
+    @Query("SELECT COUNT(p) AS totalPedidos, MAX(p.updatedAt) AS ultimoPedido, " +
+            "(SELECT COUNT(pp) FROM PedidoProducto pp) AS totalLineas, " +
+            "(SELECT MAX(pp.createdAt) FROM PedidoProducto pp) AS ultimaLinea, " +
+            "(SELECT MAX(c.updatedAt) FROM Cliente c) AS ultimoCliente, " +
+            "(SELECT MAX(pr.updatedAt) FROM Producto pr) AS ultimoProducto " +
+            "FROM Pedido p")
+    VersionListado versionListado();
+
+    interface VersionListado {
+        long getTotalPedidos();
+        LocalDateTime getUltimoPedido();
+        long getTotalLineas();
+        LocalDateTime getUltimaLinea();
+        LocalDateTime getUltimoCliente();
+        LocalDateTime getUltimoProducto();
+    }
+
+    interface TotalesCliente {
+        long getTotalPedidos();
+        BigDecimal getMontoTotal();
+    }
 }
 
 
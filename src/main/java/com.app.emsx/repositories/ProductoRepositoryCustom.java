@@ -0,0 +1,18 @@
+package com.app.emsx.repositories;
+
+import com.app.emsx.dtos.producto.ProductoResponse;
+import com.app.emsx.dtos.producto.ProductoSearchRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Consultas de producto que no se pueden expresar con métodos derivados.
+ */
+public interface ProductoRepositoryCustom {
+
+    /**
+     * ✅ Búsqueda paginada con filtros opcionales, proyectada directamente a DTO.
+     * Solo se agregan al WHERE los filtros presentes para que PostgreSQL use los índices.
+     */
+    Page<ProductoResponse> search(ProductoSearchRequest filtro, Pageable pageable);
+}
@@ -0,0 +1,82 @@
+package com.app.emsx.repositories;
+
+import com.app.emsx.dtos.producto.ProductoResponse;
+import com.app.emsx.dtos.producto.ProductoSearchRequest;
+import com.app.emsx.entities.Producto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de ProductoRepositoryCustom (Criteria API).
+ * - ILIKE sobre nombre/descripcion → índices GIN trigram (pg_trgm)
+ * - Rango de precio → índice btree idx_productos_precio
+ */
+public class ProductoRepositoryImpl implements ProductoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductoResponse> search(ProductoSearchRequest filtro, Pageable pageable) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+
+        // Página de resultados proyectada a DTO (sin cargar entidades en el contexto)
+        CriteriaQuery<ProductoResponse> query = cb.createQuery(ProductoResponse.class);
+        Root<Producto> p = query.from(Producto.class);
+        query.select(cb.construct(ProductoResponse.class,
+                        p.get("idProd"), p.get("nombre"), p.get("descripcion"), p.get("precio"),
+                        p.get("stock"), p.get("createdAt"), p.get("updatedAt"), p.get("version")))
+                .where(filtros(cb, p, filtro))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), p, cb));
+
+        List<ProductoResponse> contenido = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Total para la paginación (se evita el COUNT si la página no está llena)
+        if (pageable.getOffset() == 0 && contenido.size() < pageable.getPageSize()) {
+            return new PageImpl<>(contenido, pageable, contenido.size());
+        }
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<Producto> c = count.from(Producto.class);
+        count.select(cb.count(c)).where(filtros(cb, c, filtro));
+        return new PageImpl<>(contenido, pageable, entityManager.createQuery(count).getSingleResult());
+    }
+
+    private Predicate[] filtros(HibernateCriteriaBuilder cb, Root<Producto> p, ProductoSearchRequest filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+
+        if (filtro.getQ() != null && !filtro.getQ().isBlank()) {
+            String patron = "%" + escaparLike(filtro.getQ().trim()) + "%";
+            predicados.add(cb.or(
+                    cb.ilike(p.get("nombre"), patron, '\\'),
+                    cb.ilike(p.get("descripcion"), patron, '\\')));
+        }
+        if (filtro.getPrecioMin() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(p.get("precio"), filtro.getPrecioMin()));
+        }
+        if (filtro.getPrecioMax() != null) {
+            predicados.add(cb.lessThanOrEqualTo(p.get("precio"), filtro.getPrecioMax()));
+        }
+        if (filtro.isEnStock()) {
+            predicados.add(cb.greaterThan(p.get("stock"), 0));
+        }
+        return predicados.toArray(Predicate[]::new);
+    }
+
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
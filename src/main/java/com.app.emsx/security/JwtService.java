@@ -5,6 +5,7 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -19,8 +20,10 @@ import java.util.function.Function;
  * ✔ Acepta claves Base64 y claves normales
  * ✔ No falla si el Base64 es inválido
  * ✔ Compatible con Render, Docker y entornos productivos
+ * ✔ Siempre eager (@Lazy(false)): un JWT_SECRET inválido debe fallar en el arranque
  */
 @Service
+@Lazy(false)
 public class JwtService {
 
     @Value("${jwt.secret}")
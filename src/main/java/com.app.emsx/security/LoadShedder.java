@@ -0,0 +1,112 @@
+package com.app.emsx.security;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LoadShedder
+ * -----------------------------------------------------
+ * Descarga adaptativa: cuando la instancia está saturada se rechaza (503) una
+ * fracción de los requests en lugar de encolarlos todos.
+ * ✔ Señales: latencia media móvil (EWMA) de los requests admitidos y
+ *   hilos esperando conexión en el pool primario de Hikari
+ * ✔ EWMA ponderada por tiempo: cada muestra pesa alfa = 1 - e^(-Δt/τ), con Δt desde
+ *   la muestra anterior; sin tráfico la señal decae sola. Así el promedio cubre
+ *   ~τ segundos con 1 o con 1000 requests por segundo
+ * ✔ Solo alimentan la latencia los grupos con latency-signal=true: las rutas lentas
+ *   por diseño (reportes, PDF) no disparan la descarga de las demás
+ * ✔ presión = señal / umbral; se descarta la fracción que excede 1
+ *   (presión 1.5 → 50 %), como mucho max-ratio
+ * ✔ Sin locks: la EWMA (valor + instante) se actualiza con compareAndSet
+ * ✔ Gauge "emsx.http.load.pressure" (1 = en el umbral)
+ */
+@Slf4j
+@Component
+public class LoadShedder {
+
+    private final RateLimitProperties.Shedding config;
+    private final double umbralLatenciaNanos;
+    private final double tauNanos;
+    private final DataSource dataSource;
+    private final AtomicReference<Ewma> latencia;
+    private volatile HikariPoolMXBean pool;
+    private volatile boolean sinHikari;
+
+    public LoadShedder(RateLimitProperties properties, DataSource dataSource, MeterRegistry registry) {
+        this.config = properties.getShedding();
+        this.umbralLatenciaNanos = TimeUnit.MILLISECONDS.toNanos(config.getLatencyThresholdMs());
+        this.tauNanos = TimeUnit.MILLISECONDS.toNanos(config.getLatencyTimeConstantMs());
+        this.latencia = new AtomicReference<>(new Ewma(0, System.nanoTime()));
+        this.dataSource = dataSource;
+        Gauge.builder("emsx.http.load.pressure", this, LoadShedder::presion)
+                .description("Presión de carga (latencia o espera de conexiones / umbral)")
+                .register(registry);
+    }
+
+    void registrar(long latenciaNanos) {
+        registrar(latenciaNanos, System.nanoTime());
+    }
+
+    void registrar(long latenciaNanos, long ahoraNanos) {
+        Ewma actual;
+        Ewma nueva;
+        do {
+            actual = latencia.get();
+            double alfa = 1 - decaimiento(actual, ahoraNanos);
+            nueva = new Ewma(actual.valor() + alfa * (latenciaNanos - actual.valor()),
+                    Math.max(ahoraNanos, actual.instante()));
+        } while (!latencia.compareAndSet(actual, nueva));
+    }
+
+    boolean descartar() {
+        if (!config.isEnabled()) return false;
+        double exceso = presion() - 1;
+        if (exceso <= 0) return false;
+        return ThreadLocalRandom.current().nextDouble() < Math.min(config.getMaxRatio(), exceso);
+    }
+
+    double presion() {
+        return presion(System.nanoTime());
+    }
+
+    double presion(long ahoraNanos) {
+        Ewma actual = latencia.get();
+        double latencia = actual.valor() * decaimiento(actual, ahoraNanos) / umbralLatenciaNanos;
+        HikariPoolMXBean hikari = pool();
+        double espera = hikari != null ? (double) hikari.getThreadsAwaitingConnection() / config.getPoolWaitThreshold() : 0;
+        return Math.max(latencia, espera);
+    }
+
+    // Peso que conserva el valor anterior tras Δt: e^(-Δt/τ)
+    private double decaimiento(Ewma ewma, long ahoraNanos) {
+        return Math.exp(-Math.max(0, ahoraNanos - ewma.instante()) / tauNanos);
+    }
+
+    // El pool se crea con la primera conexión: se resuelve recién cuando existe
+    private HikariPoolMXBean pool() {
+        HikariPoolMXBean actual = pool;
+        if (actual == null && !sinHikari) {
+            HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+            if (hikari == null) {
+                log.info("ℹ️ DataSource no es HikariCP: la descarga de carga solo usa la latencia");
+                sinHikari = true;
+            } else if ((actual = hikari.getHikariPoolMXBean()) != null) {
+                pool = actual;
+            }
+        }
+        return actual;
+    }
+
+    private record Ewma(double valor, long instante) {
+    }
+}
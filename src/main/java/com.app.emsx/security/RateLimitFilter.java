@@ -0,0 +1,111 @@
+package com.app.emsx.security;
+
+import com.app.emsx.common.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter
+ * -----------------------------------------------------
+ * ✔ Corre después de JwtAuthenticationFilter: el usuario ya está autenticado
+ * ✔ Bucket por usuario; por IP en grupos by-ip (/api/auth/**) o sin token
+ * ✔ Sin tokens → 429 con Retry-After (segundos hasta el próximo token)
+ * ✔ Instancia saturada (LoadShedder) → 503 con Retry-After en grupos sheddable
+ * ✔ Métricas: "emsx.http.rate-limit.rejected" y "emsx.http.load.shed" (tag group)
+ * ✔ La IP es getRemoteAddr(): detrás de un proxy requiere server.forward-headers-strategy
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Preflight CORS: no consume tokens del usuario
+        return !properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Regla regla = rateLimiter.buscar(request.getRequestURI().substring(request.getContextPath().length()));
+        if (regla == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitProperties.Group grupo = regla.grupo();
+
+        if (grupo.isSheddable() && loadShedder.descartar()) {
+            contar("emsx.http.load.shed", grupo);
+            rechazar(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getShedding().getRetryAfterSeconds(),
+                    "Servidor saturado, reintente más tarde");
+            return;
+        }
+
+        String clave = clave(request, grupo);
+        long esperaNanos = rateLimiter.consumir(regla, clave);
+        if (esperaNanos > 0) {
+            contar("emsx.http.rate-limit.rejected", grupo);
+            log.debug("🚦 {} superó el límite de '{}' ({} {})", clave, grupo.getName(), request.getMethod(), request.getRequestURI());
+            rechazar(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999)),
+                    "Demasiadas solicitudes, reintente en unos segundos");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (grupo.isLatencySignal()) loadShedder.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    private static String clave(HttpServletRequest request, RateLimitProperties.Group grupo) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!grupo.isByIp() && auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void rechazar(HttpServletResponse response, HttpStatus status, long retryAfter, String mensaje) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.fail(mensaje));
+    }
+
+    private void contar(String metrica, RateLimitProperties.Group grupo) {
+        Counter.builder(metrica)
+                .tag("group", grupo.getName())
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.emsx.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RateLimitProperties (emsx.rate-limit.*)
+ * -----------------------------------------------------
+ * ✔ groups: grupos de rutas con su propio token bucket; gana el primero que coincide
+ *   (las rutas que no caen en ningún grupo no se limitan)
+ * ✔ shedding: umbrales de la descarga adaptativa de carga
+ */
+@Data
+@ConfigurationProperties("emsx.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private List<Group> groups = new ArrayList<>();
+    private Shedding shedding = new Shedding();
+
+    @Data
+    public static class Group {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        // Ráfaga máxima y ritmo sostenido (tokens por segundo)
+        private long capacity = 60;
+        private double refillPerSecond = 20;
+        // true: bucket por IP aunque haya usuario (login/registro)
+        private boolean byIp = false;
+        // false: nunca se descarta por sobrecarga
+        private boolean sheddable = true;
+        // false: su latencia no cuenta para la descarga (rutas lentas por diseño)
+        private boolean latencySignal = true;
+    }
+
+    @Data
+    public static class Shedding {
+        private boolean enabled = true;
+        // Latencia media (EWMA) de los requests admitidos
+        private long latencyThresholdMs = 1500;
+        // τ de la EWMA: las muestras de hace τ pesan ~37 %, las de hace 3τ ~5 %
+        private long latencyTimeConstantMs = 5000;
+        // Hilos esperando conexión en el pool de Hikari
+        private int poolWaitThreshold = 5;
+        // Fracción máxima descartada: siempre pasa algo de tráfico para medir la recuperación
+        private double maxRatio = 0.9;
+        private long retryAfterSeconds = 2;
+    }
+}
@@ -0,0 +1,119 @@
+package com.app.emsx.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * RateLimiter
+ * -----------------------------------------------------
+ * Token buckets en memoria, uno por (grupo de rutas, usuario o IP).
+ * ✔ Cada bucket se actualiza con compareAndSet, sin locks: requests concurrentes
+ *   del mismo usuario no se serializan
+ * ✔ La recarga se calcula al consumir (no hay hilo que rellene buckets)
+ * ✔ Los buckets llenos se eliminan periódicamente: un cliente inactivo no ocupa memoria
+ * ✔ Límite por instancia: con N instancias, el límite efectivo es N veces el configurado
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private final List<Regla> reglas;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.reglas = properties.getGroups().stream()
+                .map(grupo -> new Regla(grupo, grupo.getPatterns().stream()
+                        .map(PathPatternParser.defaultInstance::parse)
+                        .toList()))
+                .toList();
+        reglas.forEach(r -> log.info("🚦 Límite '{}': ráfaga {}, {} req/s para {}",
+                r.grupo().getName(), r.grupo().getCapacity(), r.grupo().getRefillPerSecond(), r.grupo().getPatterns()));
+    }
+
+    /**
+     * Regla que aplica a la ruta (sin context path), o null si la ruta no se limita.
+     */
+    Regla buscar(String ruta) {
+        PathContainer path = PathContainer.parsePath(ruta);
+        for (Regla regla : reglas) {
+            for (PathPattern patron : regla.patrones()) {
+                if (patron.matches(path)) return regla;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Consume un token. Devuelve 0 si se admite o los nanosegundos hasta el próximo token.
+     */
+    long consumir(Regla regla, String clave) {
+        RateLimitProperties.Group grupo = regla.grupo();
+        return buckets.computeIfAbsent(grupo.getName() + "|" + clave,
+                        k -> new TokenBucket(grupo.getCapacity(), grupo.getRefillPerSecond(), System.nanoTime()))
+                .consumir(System.nanoTime());
+    }
+
+    // Un request que tomó el bucket justo antes de borrarlo lo consume "suelto": como mucho
+    // regala una ráfaga a un cliente que ya llevaba tiempo inactivo
+    @Scheduled(fixedDelayString = "${emsx.rate-limit.cleanup-ms:60000}")
+    public void limpiar() {
+        long ahora = System.nanoTime();
+        int antes = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.lleno(ahora));
+        if (antes > 0) {
+            log.debug("🧹 Rate limit: {} de {} buckets eliminados", antes - buckets.size(), antes);
+        }
+    }
+
+    record Regla(RateLimitProperties.Group grupo, List<PathPattern> patrones) {
+    }
+
+    static final class TokenBucket {
+
+        private record Estado(double tokens, long instante) {
+        }
+
+        private final long capacidad;
+        private final double tokensPorNano;
+        private final AtomicReference<Estado> estado;
+
+        TokenBucket(long capacidad, double tokensPorSegundo, long ahora) {
+            this.capacidad = capacidad;
+            this.tokensPorNano = tokensPorSegundo / TimeUnit.SECONDS.toNanos(1);
+            this.estado = new AtomicReference<>(new Estado(capacidad, ahora));
+        }
+
+        long consumir(long ahora) {
+            while (true) {
+                Estado actual = estado.get();
+                // Otro hilo pudo guardar un instante posterior al nuestro: el tiempo no retrocede
+                long instante = Math.max(ahora, actual.instante());
+                double tokens = disponibles(actual, instante);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPorNano);
+                }
+                if (estado.compareAndSet(actual, new Estado(tokens - 1, instante))) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean lleno(long ahora) {
+            Estado actual = estado.get();
+            return disponibles(actual, Math.max(ahora, actual.instante())) >= capacidad;
+        }
+
+        private double disponibles(Estado actual, long instante) {
+            return Math.min(capacidad, actual.tokens() + (instante - actual.instante()) * tokensPorNano);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.app.emsx.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -18,15 +28,50 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * ✔ Deshabilita CSRF (porque usamos token)
  * ✔ Aplica CORS global desde CorsConfig
  * ✔ Protege rutas excepto /api/auth/**
+ * ✔ /actuator/health público
+ * ✔ /actuator/prometheus con HTTP Basic de un usuario de scraping propio
+ *   (emsx.metrics.*); sin contraseña configurada queda cerrado
+ * ✔ Rate limiting y descarga de carga justo después del filtro JWT (RateLimitFilter)
  */
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
 
+    /**
+     * ✅ Cadena solo para /actuator/prometheus: Prometheus no puede renovar un JWT,
+     * usa basic_auth con un usuario en memoria que no existe en la base
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http,
+                                                  PasswordEncoder passwordEncoder,
+                                                  @Value("${emsx.metrics.username:prometheus}") String usuario,
+                                                  @Value("${emsx.metrics.password:}") String clave) throws Exception {
+        http
+                .securityMatcher("/actuator/prometheus")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults());
+
+        if (clave.isBlank()) {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+        } else {
+            DaoAuthenticationProvider scraping = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                    User.withUsername(usuario).password(passwordEncoder.encode(clave)).roles("METRICS").build()));
+            scraping.setPasswordEncoder(passwordEncoder);
+            http
+                    .authenticationManager(new ProviderManager(scraping))
+                    .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"));
+        }
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
@@ -49,8 +94,21 @@ public class SecurityConfig {
                 // ✅ Registrar el AuthenticationProvider
                 .authenticationProvider(authenticationProvider)
                 // ✅ Registrar el filtro JWT antes del UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // ✅ Límite por usuario/IP con el usuario ya resuelto por el filtro JWT
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
+
+    /**
+     * ✅ RateLimitFilter solo dentro de la cadena de seguridad: sin esto Spring Boot
+     * también lo registraría como filtro del contenedor
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registro = new FilterRegistrationBean<>(rateLimitFilter);
+        registro.setEnabled(false);
+        return registro;
+    }
 }
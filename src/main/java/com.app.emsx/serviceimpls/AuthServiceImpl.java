@@ -15,6 +15,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * AuthServiceImpl
@@ -37,6 +38,7 @@ public class AuthServiceImpl implements AuthService {
     /**
      * ✅ Registrar un nuevo usuario (modo desarrollo con defaults)
      */
+    @Transactional
     public AuthenticationResponse register(RegisterRequest request) {
         log.info("📝 Registro de nuevo usuario: {}", request.getUsername());
         
@@ -210,6 +212,7 @@ public class AuthServiceImpl implements AuthService {
      * ✅ Crear usuario administrador por defecto
      */
     @Override
+    @Transactional
     public AuthenticationResponse createAdminUser() {
         // Verificar si ya existe un admin
         if (userRepository.findByEmail("admin@emsx.com").isPresent()) {
@@ -0,0 +1,285 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.PageResponse;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.cliente.ClienteDuplicadoResponse;
+import com.app.emsx.dtos.cliente.ClienteDuplicadosReporte;
+import com.app.emsx.dtos.cliente.ClientePatchRequest;
+import com.app.emsx.dtos.cliente.ClientePedidosResponse;
+import com.app.emsx.dtos.cliente.ClienteResponse;
+import com.app.emsx.dtos.cliente.ClienteSearchRequest;
+import com.app.emsx.dtos.pedido.PedidoResumenResponse;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.exceptions.ResourceNotFoundException;
+import com.app.emsx.mappers.ClienteMapper;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.repositories.PedidoRepository;
+import com.app.emsx.services.ClienteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 👥 ClienteServiceImpl
+ * -----------------------------------------------------
+ * ✅ Búsquedas de clientes apoyadas en índices (email, prefijo de teléfono, nombre).
+ * ✅ Historial de pedidos con proyección compacta (sin cargar entidades Pedido).
+ * ✅ Detección de duplicados por claves normalizadas:
+ *    - EMAIL: minúsculas, sin "+etiqueta" y sin puntos en Gmail
+ *    - TELEFONO: solo dígitos, últimos 9 (ignora prefijo de país)
+ *    - NOMBRE_DIRECCION: nombre y dirección sin acentos ni signos, palabras ordenadas
+ *    Los clientes que comparten alguna clave quedan en el mismo grupo.
+ * ✅ Lecturas en transacción readOnly (sin flush ni snapshots de entidades).
+ * ✅ PUT/PATCH con control de versión (@Version / If-Match); @DynamicUpdate escribe
+ *    solo las columnas modificadas.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ClienteServiceImpl implements ClienteService {
+
+    private static final int DIGITOS_TELEFONO = 9;
+    private static final int TAMANO_FETCH = 1000;
+
+    private final ClienteRepository repository;
+    private final PedidoRepository pedidoRepository;
+    private final ClienteMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<ClienteDuplicadosReporte> ultimoReporte = new AtomicReference<>();
+    // Una sola detección a la vez (ReentrantLock: no fija hilos virtuales durante la lectura JDBC)
+    private final ReentrantLock deteccion = new ReentrantLock();
+
+    public ClienteServiceImpl(ClienteRepository repository,
+                              PedidoRepository pedidoRepository,
+                              ClienteMapper mapper,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.pedidoRepository = pedidoRepository;
+        this.mapper = mapper;
+        // Copia propia: el fetchSize no debe afectar al JdbcTemplate compartido
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(TAMANO_FETCH);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public List<ClienteResponse> findByEmail(String email) {
+        return mapper.toResponseList(repository.findByEmailNormalizado(email.trim()));
+    }
+
+    @Override
+    public PageResponse<ClienteResponse> search(ClienteSearchRequest filtro, Pageable pageable) {
+        return PageResponse.of(repository.search(filtro, pageable));
+    }
+
+    @Override
+    public ClientePedidosResponse historialPedidos(Long idCliente, Pageable pageable) {
+        if (!repository.existsById(idCliente)) {
+            throw new ResourceNotFoundException("Cliente no encontrado con ID: " + idCliente);
+        }
+
+        // El total de la página sale de los totales históricos: no hace falta un COUNT adicional
+        PedidoRepository.TotalesCliente totales = pedidoRepository.totalesByCliente(idCliente);
+        List<PedidoResumenResponse> pedidos = totales.getTotalPedidos() == 0
+                ? List.of()
+                : pedidoRepository.findResumenByCliente(idCliente, pageable);
+
+        return ClientePedidosResponse.builder()
+                .idCliente(idCliente)
+                .totalPedidos(totales.getTotalPedidos())
+                .montoTotal(totales.getMontoTotal())
+                .pedidos(PageResponse.of(new PageImpl<>(pedidos, pageable, totales.getTotalPedidos())))
+                .build();
+    }
+
+    @Override
+    public ClienteDuplicadosReporte ultimoReporteDuplicados() {
+        ClienteDuplicadosReporte reporte = ultimoReporte.get();
+        return reporte != null ? reporte : detectarDuplicados();
+    }
+
+    /**
+     * ✅ Ejecución programada (desactivada por defecto, cron "-")
+     */
+    @Scheduled(cron = "${clientes.duplicados.cron:-}")
+    public void detectarDuplicadosProgramado() {
+        detectarDuplicados();
+    }
+
+    @Override
+    public ClienteDuplicadosReporte detectarDuplicados() {
+        deteccion.lock();
+        try {
+            log.info("🔍 Iniciando detección de clientes duplicados...");
+            UnionFind grupos = new UnionFind();
+            Map<String, Long> primeroPorClave = new HashMap<>();
+            Map<Long, Set<String>> motivos = new HashMap<>();
+            AtomicLong analizados = new AtomicLong();
+
+            // Lectura en streaming: dentro de una transacción el driver usa cursor con fetchSize
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.query("SELECT id_cliente, nombre, email, telefono, direccion FROM clientes", rs -> {
+                    long id = rs.getLong("id_cliente");
+                    analizados.incrementAndGet();
+                    registrar(id, "EMAIL", claveEmail(rs.getString("email")), primeroPorClave, grupos, motivos);
+                    registrar(id, "TELEFONO", claveTelefono(rs.getString("telefono")), primeroPorClave, grupos, motivos);
+                    registrar(id, "NOMBRE_DIRECCION",
+                            claveNombreDireccion(rs.getString("nombre"), rs.getString("direccion")),
+                            primeroPorClave, grupos, motivos);
+                });
+            });
+
+            // Agrupar por raíz y quedarse con los grupos de 2 o más clientes
+            Map<Long, List<Long>> porRaiz = new TreeMap<>();
+            for (Long id : grupos.elementos()) {
+                porRaiz.computeIfAbsent(grupos.raiz(id), r -> new ArrayList<>()).add(id);
+            }
+            List<ClienteDuplicadoResponse> duplicados = porRaiz.values().stream()
+                    .filter(ids -> ids.size() > 1)
+                    .map(ids -> {
+                        Collections.sort(ids);
+                        Set<String> razones = new TreeSet<>();
+                        ids.forEach(id -> razones.addAll(motivos.getOrDefault(id, Set.of())));
+                        return ClienteDuplicadoResponse.builder().idsClientes(ids).motivos(razones).build();
+                    })
+                    .toList();
+
+            ClienteDuplicadosReporte reporte = ClienteDuplicadosReporte.builder()
+                    .generadoEn(LocalDateTime.now())
+                    .clientesAnalizados(analizados.get())
+                    .grupos(duplicados)
+                    .build();
+            ultimoReporte.set(reporte);
+            log.info("✅ Detección de duplicados completada: {} clientes, {} grupos", analizados.get(), duplicados.size());
+            return reporte;
+        } finally {
+            deteccion.unlock();
+        }
+    }
+
+    @Override
+    @Transactional
+    public ClienteResponse update(Long id, Long versionEsperada, Cliente datos) {
+        Cliente existente = buscarVerificado(id, versionEsperada);
+        existente.setNombre(datos.getNombre());
+        existente.setEmail(datos.getEmail());
+        existente.setTelefono(datos.getTelefono());
+        existente.setDireccion(datos.getDireccion());
+        // saveAndFlush: el conflicto de @Version aparece aquí y la respuesta lleva la versión nueva
+        return mapper.toResponse(repository.saveAndFlush(existente));
+    }
+
+    @Override
+    @Transactional
+    public ClienteResponse patch(Long id, Long versionEsperada, MergePatch<ClientePatchRequest> patch) {
+        Cliente existente = buscarVerificado(id, versionEsperada);
+        mapper.updateEntityFromRequest(patch.cambios(), existente);
+        if (patch.anula("telefono")) existente.setTelefono(null);
+        if (patch.anula("direccion")) existente.setDireccion(null);
+        return mapper.toResponse(repository.saveAndFlush(existente));
+    }
+
+    private Cliente buscarVerificado(Long id, Long versionEsperada) {
+        Cliente existente = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
+        VersionEtag.verificar(versionEsperada, existente.getVersion(), "El cliente " + id);
+        return existente;
+    }
+
+    private static void registrar(long id, String tipo, String clave, Map<String, Long> primeroPorClave,
+                                  UnionFind grupos, Map<Long, Set<String>> motivos) {
+        if (clave == null) return;
+        Long primero = primeroPorClave.putIfAbsent(tipo + ":" + clave, id);
+        if (primero != null) {
+            grupos.unir(primero, id);
+            motivos.computeIfAbsent(id, k -> new HashSet<>()).add(tipo);
+            motivos.computeIfAbsent(primero, k -> new HashSet<>()).add(tipo);
+        }
+    }
+
+    static String claveEmail(String email) {
+        if (email == null || !email.contains("@")) return null;
+        String normalizado = email.trim().toLowerCase(Locale.ROOT);
+        int arroba = normalizado.lastIndexOf('@');
+        String local = normalizado.substring(0, arroba);
+        String dominio = normalizado.substring(arroba + 1);
+        int mas = local.indexOf('+');
+        if (mas >= 0) local = local.substring(0, mas);
+        if (dominio.equals("gmail.com") || dominio.equals("googlemail.com")) {
+            local = local.replace(".", "");
+            dominio = "gmail.com";
+        }
+        return local.isEmpty() ? null : local + "@" + dominio;
+    }
+
+    static String claveTelefono(String telefono) {
+        if (telefono == null) return null;
+        String digitos = telefono.replaceAll("\\D", "");
+        if (digitos.length() < 7) return null;
+        return digitos.length() > DIGITOS_TELEFONO ? digitos.substring(digitos.length() - DIGITOS_TELEFONO) : digitos;
+    }
+
+    static String claveNombreDireccion(String nombre, String direccion) {
+        String n = normalizarTexto(nombre);
+        String d = normalizarTexto(direccion);
+        if (n == null || d == null) return null;
+        return n + "|" + d;
+    }
+
+    private static String normalizarTexto(String texto) {
+        if (texto == null || texto.isBlank()) return null;
+        String sinAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        String[] palabras = sinAcentos.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim().split(" ");
+        Arrays.sort(palabras);
+        String resultado = String.join(" ", palabras);
+        return resultado.isBlank() ? null : resultado;
+    }
+
+    /**
+     * Conjuntos disjuntos (union-find) sobre IDs de cliente.
+     */
+    static final class UnionFind {
+        private final Map<Long, Long> padre = new HashMap<>();
+
+        Set<Long> elementos() {
+            return padre.keySet();
+        }
+
+        long raiz(long id) {
+            long r = id;
+            while (padre.getOrDefault(r, r) != r) r = padre.get(r);
+            // Compresión de caminos
+            long actual = id;
+            while (actual != r) {
+                long siguiente = padre.get(actual);
+                padre.put(actual, r);
+                actual = siguiente;
+            }
+            return r;
+        }
+
+        void unir(long a, long b) {
+            padre.putIfAbsent(a, a);
+            padre.putIfAbsent(b, b);
+            long ra = raiz(a);
+            long rb = raiz(b);
+            if (ra != rb) padre.put(Math.max(ra, rb), Math.min(ra, rb));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.emsx.serviceimpls;
 
+import com.app.emsx.common.MergePatch;
 import com.app.emsx.dtos.department.DepartmentRequest;
 import com.app.emsx.dtos.department.DepartmentResponse;
 import com.app.emsx.entities.Department;
@@ -10,6 +11,7 @@ import com.app.emsx.repositories.DepartmentRepository;
 import com.app.emsx.services.DepartmentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,12 +23,14 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentRepository repository;
     private final DepartmentMapper mapper;
 
     @Override
+    @Transactional
     public DepartmentResponse create(DepartmentRequest request) {
         if (repository.existsByName(request.getName())) {
             throw new BusinessRuleException("Ya existe un departamento con el nombre: " + request.getName());
@@ -37,6 +41,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
+    @Transactional
     public DepartmentResponse update(Long id, DepartmentRequest request) {
         Department department = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Departamento no encontrado con ID: " + id));
@@ -50,6 +55,26 @@ public class DepartmentServiceImpl implements DepartmentService {
         return mapper.toResponse(repository.save(department));
     }
 
+    /**
+     * ✅ JSON Merge Patch: solo los campos presentes; @DynamicUpdate escribe solo las columnas que cambian
+     */
+    @Override
+    @Transactional
+    public DepartmentResponse patch(Long id, MergePatch<DepartmentRequest> patch) {
+        Department department = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Departamento no encontrado con ID: " + id));
+        DepartmentRequest cambios = patch.cambios();
+
+        if (cambios.getName() != null && !department.getName().equals(cambios.getName()) &&
+                repository.existsByName(cambios.getName())) {
+            throw new BusinessRuleException("Ya existe otro departamento con el nombre: " + cambios.getName());
+        }
+
+        mapper.updateEntityFromRequest(cambios, department);
+        if (patch.anula("description")) department.setDescription(null);
+        return mapper.toResponse(repository.save(department));
+    }
+
     @Override
     public List<DepartmentResponse> findAll() {
         return repository.findAll().stream()
@@ -65,6 +90,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         Department department = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Departamento no encontrado con ID: " + id));
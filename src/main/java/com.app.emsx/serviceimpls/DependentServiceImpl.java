@@ -10,9 +10,9 @@ import com.app.emsx.mappers.DependentMapper;
 import com.app.emsx.repositories.DependentRepository;
 import com.app.emsx.repositories.EmployeeRepository;
 import com.app.emsx.services.DependentService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,7 +27,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class DependentServiceImpl implements DependentService {
 
     private final DependentRepository dependentRepository;
@@ -38,6 +38,7 @@ public class DependentServiceImpl implements DependentService {
      * ✅ Crear un nuevo dependiente asociado a un empleado
      */
     @Override
+    @Transactional
     public DependentResponse createDependent(DependentRequest request) {
         // Verificar existencia del empleado
         Employee employee = employeeRepository.findById(request.getEmployeeId())
@@ -91,6 +92,7 @@ public class DependentServiceImpl implements DependentService {
      * ✅ Eliminar dependiente por ID
      */
     @Override
+    @Transactional
     public void deleteDependent(Long dependentId) {
         Dependent dependent = dependentRepository.findById(dependentId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -1,10 +1,12 @@
 package com.app.emsx.serviceimpls;
 
+import com.app.emsx.common.MergePatch;
 import com.app.emsx.dtos.employee.EmployeeRequest;
 import com.app.emsx.dtos.employee.EmployeeResponse;
 import com.app.emsx.entities.Department;
 import com.app.emsx.entities.Employee;
 import com.app.emsx.exceptions.BusinessRuleException;
+import com.app.emsx.exceptions.InvalidRequestException;
 import com.app.emsx.exceptions.ResourceNotFoundException;
 import com.app.emsx.mappers.EmployeeMapper;
 import com.app.emsx.repositories.DepartmentRepository;
@@ -12,6 +14,7 @@ import com.app.emsx.repositories.EmployeeRepository;
 import com.app.emsx.services.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,9 +24,11 @@ import java.util.List;
  * Servicio principal para gestión de empleados.
  * ✅ Aplica reglas de negocio, validaciones y conversiones DTO ↔ Entity.
  * ✅ Garantiza integridad referencial con Department y Dependents.
+ * ✅ Lecturas readOnly por defecto; solo las escrituras abren transacción de escritura.
  */
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeRepository repository;
@@ -36,6 +41,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      * - Asigna correctamente el departamento.
      */
     @Override
+    @Transactional
     public EmployeeResponse create(EmployeeRequest request) {
         // Verificar duplicado de email
         if (repository.existsByEmail(request.getEmail())) {
@@ -60,6 +66,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      * - Asegura que el departamento exista.
      */
     @Override
+    @Transactional
     public EmployeeResponse update(Long id, EmployeeRequest request) {
         Employee employee = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + id));
@@ -80,6 +87,38 @@ public class EmployeeServiceImpl implements EmployeeService {
         return mapper.toResponse(repository.save(employee));
     }
 
+    /**
+     * ✅ JSON Merge Patch (p. ej. solo el teléfono)
+     * - Solo los campos presentes; @DynamicUpdate escribe solo las columnas que cambian.
+     * - "address"/"phone": null borra el valor; "departmentId": null deja al empleado sin departamento.
+     */
+    @Override
+    @Transactional
+    public EmployeeResponse patch(Long id, MergePatch<EmployeeRequest> patch) {
+        Employee employee = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + id));
+        EmployeeRequest cambios = patch.cambios();
+
+        if (patch.anula("email")) {
+            throw new InvalidRequestException("El email del empleado es obligatorio");
+        }
+        if (cambios.getEmail() != null && !employee.getEmail().equals(cambios.getEmail()) &&
+                repository.existsByEmail(cambios.getEmail())) {
+            throw new BusinessRuleException("Ya existe otro empleado con el email: " + cambios.getEmail());
+        }
+
+        mapper.updateEntityFromRequest(cambios, employee);
+        if (patch.anula("address")) employee.setAddress(null);
+        if (patch.anula("phone")) employee.setPhone(null);
+        if (patch.contiene("departmentId")) {
+            employee.setDepartment(cambios.getDepartmentId() == null ? null
+                    : departmentRepository.findById(cambios.getDepartmentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Departamento no encontrado con ID: " + cambios.getDepartmentId())));
+        }
+
+        return mapper.toResponse(repository.save(employee));
+    }
+
     /**
      * ✅ Obtener todos los empleados
      */
@@ -106,6 +145,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      * - Si tiene dependientes, lanzar excepción de negocio.
      */
     @Override
+    @Transactional
     public void delete(Long id) {
         Employee employee = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + id));
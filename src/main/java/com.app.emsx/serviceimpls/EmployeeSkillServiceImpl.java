@@ -10,9 +10,9 @@ import com.app.emsx.mappers.EmployeeSkillMapper;
 import com.app.emsx.repositories.EmployeeRepository;
 import com.app.emsx.repositories.SkillRepository;
 import com.app.emsx.services.EmployeeSkillService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -25,7 +25,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class EmployeeSkillServiceImpl implements EmployeeSkillService {
 
     private final EmployeeRepository employeeRepository;
@@ -36,6 +36,7 @@ public class EmployeeSkillServiceImpl implements EmployeeSkillService {
      * ✅ Asigna una habilidad a un empleado
      */
     @Override
+    @Transactional
     public EmployeeSkillResponse assignSkill(EmployeeSkillRequest request) {
         Employee employee = employeeRepository.findById(request.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + request.getEmployeeId()));
@@ -57,6 +58,7 @@ public class EmployeeSkillServiceImpl implements EmployeeSkillService {
      * ✅ Elimina una habilidad asignada a un empleado
      */
     @Override
+    @Transactional
     public EmployeeSkillResponse removeSkill(EmployeeSkillRequest request) {
         Employee employee = employeeRepository.findById(request.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + request.getEmployeeId()));
@@ -0,0 +1,249 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.entities.Factura;
+import com.app.emsx.entities.PedidoProducto;
+import com.app.emsx.exceptions.ResourceNotFoundException;
+import com.app.emsx.repositories.FacturaRepository;
+import com.app.emsx.services.FacturaPdfService;
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 🧾 FacturaPdfServiceImpl
+ * -----------------------------------------------------
+ * Genera PDFs de facturas con OpenPDF y los guarda en caché en disco.
+ * ✅ El nombre del archivo es el SHA-256 del contenido: mismo contenido → mismo PDF.
+ * ✅ La generación corre en un pool acotado (pdfExecutor).
+ * ✅ Peticiones simultáneas de la misma factura comparten una única generación.
+ */
+@Slf4j
+@Service
+public class FacturaPdfServiceImpl implements FacturaPdfService {
+
+    // Incrementar al cambiar el diseño del PDF para invalidar la caché
+    private static final int VERSION_PLANTILLA = 1;
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final FacturaRepository facturaRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final Path directorioCache;
+    private final long timeoutSegundos;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> enProceso = new ConcurrentHashMap<>();
+
+    public FacturaPdfServiceImpl(FacturaRepository facturaRepository,
+                                 @Qualifier("pdfExecutor") ThreadPoolTaskExecutor executor,
+                                 @Value("${factura.pdf.cache-dir}") String directorioCache,
+                                 @Value("${factura.pdf.timeout-seconds:30}") long timeoutSegundos) {
+        this.facturaRepository = facturaRepository;
+        this.executor = executor;
+        this.directorioCache = Path.of(directorioCache);
+        this.timeoutSegundos = timeoutSegundos;
+    }
+
+    @Override
+    public FacturaPdf obtenerPdf(Long idFactura) {
+        Factura factura = facturaRepository.findById(idFactura)
+                .orElseThrow(() -> new ResourceNotFoundException("Factura no encontrada con ID: " + idFactura));
+
+        // Copia inmutable: el render corre en otro hilo, fuera de la sesión JPA
+        ContenidoFactura contenido = ContenidoFactura.de(factura);
+        String hash = contenido.hash();
+        Path archivo = directorioCache.resolve(hash + ".pdf");
+
+        if (Files.exists(archivo)) {
+            return new FacturaPdf(archivo, hash, contenido.nro());
+        }
+
+        CompletableFuture<Path> render = enProceso.get(hash);
+        if (render == null) {
+            CompletableFuture<Path> nuevo = new CompletableFuture<>();
+            render = enProceso.putIfAbsent(hash, nuevo);
+            if (render == null) {
+                render = nuevo;
+                renderizarEnSegundoPlano(contenido, archivo, nuevo);
+                // Fuera del mapa: si el future ya terminó (render rápido o rechazo) corre aquí mismo
+                nuevo.whenComplete((ok, error) -> enProceso.remove(hash, nuevo));
+            }
+        }
+
+        try {
+            return new FacturaPdf(render.get(timeoutSegundos, TimeUnit.SECONDS), hash, contenido.nro());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación de PDF interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException rechazo) throw rechazo;
+            throw new IllegalStateException("Error al generar PDF de la factura " + contenido.nro(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RejectedExecutionException("La generación del PDF sigue en curso, reintente en unos segundos");
+        }
+    }
+
+    // Pool lleno → el future termina con RejectedExecutionException (el controller responde 503)
+    private void renderizarEnSegundoPlano(ContenidoFactura contenido, Path archivo, CompletableFuture<Path> resultado) {
+        try {
+            executor.execute(() -> {
+                try {
+                    resultado.complete(renderizar(contenido, archivo));
+                } catch (RuntimeException e) {
+                    resultado.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resultado.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Escribe el PDF en un archivo temporal y lo mueve de forma atómica a la caché.
+     * Si la escritura falla, el temporal se borra.
+     */
+    private Path renderizar(ContenidoFactura contenido, Path destino) {
+        try {
+            Files.createDirectories(directorioCache);
+            Path temporal = Files.createTempFile(directorioCache, contenido.hash(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temporal)) {
+                    escribirPdf(contenido, out);
+                }
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+            log.info("✅ PDF generado para factura {}: {}", contenido.nro(), destino.getFileName());
+            return destino;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escribirPdf(ContenidoFactura c, OutputStream out) {
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        Font titulo = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+        Font negrita = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+        Font normal = FontFactory.getFont(FontFactory.HELVETICA, 10);
+
+        // Cabecera
+        document.add(new Paragraph("Factura " + c.nro(), titulo));
+        document.add(new Paragraph("Fecha: " + c.fecha().format(FORMATO_FECHA), normal));
+        document.add(new Paragraph("Pedido: #" + c.idPedido(), normal));
+        document.add(Chunk.NEWLINE);
+
+        // Cliente
+        document.add(new Paragraph("Cliente", negrita));
+        document.add(new Paragraph(c.clienteNombre(), normal));
+        document.add(new Paragraph(c.clienteEmail(), normal));
+        if (c.clienteTelefono() != null) document.add(new Paragraph(c.clienteTelefono(), normal));
+        if (c.clienteDireccion() != null) document.add(new Paragraph(c.clienteDireccion(), normal));
+        document.add(Chunk.NEWLINE);
+
+        // Líneas del pedido
+        PdfPTable tabla = new PdfPTable(new float[]{5, 1, 2, 2});
+        tabla.setWidthPercentage(100);
+        for (String encabezado : List.of("Producto", "Cant.", "Precio", "Subtotal")) {
+            tabla.addCell(new PdfPCell(new Phrase(encabezado, negrita)));
+        }
+        for (LineaFactura linea : c.lineas()) {
+            tabla.addCell(new Phrase(linea.producto(), normal));
+            tabla.addCell(celdaNumero(String.valueOf(linea.cantidad()), normal));
+            tabla.addCell(celdaNumero(linea.precioUnitario().toPlainString(), normal));
+            tabla.addCell(celdaNumero(linea.subtotal().toPlainString(), normal));
+        }
+        document.add(tabla);
+        document.add(Chunk.NEWLINE);
+
+        // Totales
+        Paragraph subtotal = new Paragraph("Subtotal: " + c.subtotal().toPlainString(), normal);
+        subtotal.setAlignment(Element.ALIGN_RIGHT);
+        document.add(subtotal);
+        Paragraph total = new Paragraph("Total: " + c.total().toPlainString(), negrita);
+        total.setAlignment(Element.ALIGN_RIGHT);
+        document.add(total);
+
+        document.close();
+    }
+
+    private static PdfPCell celdaNumero(String texto, Font font) {
+        PdfPCell celda = new PdfPCell(new Phrase(texto, font));
+        celda.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        return celda;
+    }
+
+    /**
+     * Contenido de la factura que aparece en el PDF (y que define su hash).
+     */
+    private record ContenidoFactura(String nro, LocalDateTime fecha, Long idPedido,
+                                    String clienteNombre, String clienteEmail,
+                                    String clienteTelefono, String clienteDireccion,
+                                    List<LineaFactura> lineas, BigDecimal subtotal, BigDecimal total) {
+
+        static ContenidoFactura de(Factura factura) {
+            Cliente cliente = factura.getPedido().getCliente();
+            List<PedidoProducto> productos = factura.getPedido().getPedidoProductos() != null
+                    ? factura.getPedido().getPedidoProductos()
+                    : List.of();
+            List<LineaFactura> lineas = productos.stream()
+                    .sorted(Comparator.comparing(PedidoProducto::getId))
+                    .map(pp -> new LineaFactura(pp.getProducto().getNombre(), pp.getCantidad(),
+                            pp.getPrecioUnitario(), pp.getSubtotal()))
+                    .toList();
+            return new ContenidoFactura(factura.getNro(), factura.getFecha(), factura.getPedido().getIdPedido(),
+                    cliente.getNombre(), cliente.getEmail(), cliente.getTelefono(), cliente.getDireccion(),
+                    lineas, factura.getSubtotal(), factura.getTotal());
+        }
+
+        String hash() {
+            StringBuilder canonico = new StringBuilder()
+                    .append(VERSION_PLANTILLA).append('|')
+                    .append(nro).append('|').append(fecha).append('|').append(idPedido).append('|')
+                    .append(clienteNombre).append('|').append(clienteEmail).append('|')
+                    .append(clienteTelefono).append('|').append(clienteDireccion).append('|')
+                    .append(subtotal.toPlainString()).append('|').append(total.toPlainString());
+            for (LineaFactura linea : lineas) {
+                canonico.append('|').append(linea.producto()).append(';').append(linea.cantidad())
+                        .append(';').append(linea.precioUnitario().toPlainString())
+                        .append(';').append(linea.subtotal().toPlainString());
+            }
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(canonico.toString().getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record LineaFactura(String producto, Integer cantidad, BigDecimal precioUnitario, BigDecimal subtotal) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.factura.FacturaPatchRequest;
+import com.app.emsx.entities.Factura;
+import com.app.emsx.entities.Pedido;
+import com.app.emsx.exceptions.ResourceNotFoundException;
+import com.app.emsx.repositories.FacturaRepository;
+import com.app.emsx.repositories.PedidoRepository;
+import com.app.emsx.services.FacturaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 🧾 FacturaServiceImpl
+ * -----------------------------------------------------
+ * ✅ Los cambios se aplican sobre la factura cargada; @DynamicUpdate escribe solo
+ *    las columnas modificadas y @Version detecta escrituras concurrentes.
+ */
+@Service
+@RequiredArgsConstructor
+public class FacturaServiceImpl implements FacturaService {
+
+    private final FacturaRepository repository;
+    private final PedidoRepository pedidoRepository;
+
+    // Igual que en pedidos: {"idPedido": n} sin versión se cambia por el pedido cargado
+    @Override
+    @Transactional
+    public Factura create(Factura factura) {
+        if (factura.getPedido() != null && factura.getPedido().getIdPedido() != null) {
+            factura.setPedido(buscarPedido(factura.getPedido().getIdPedido()));
+        }
+        return repository.save(factura);
+    }
+
+    @Override
+    @Transactional
+    public Factura update(Long id, Long versionEsperada, Factura datos) {
+        Factura existente = buscarVerificado(id, versionEsperada);
+        existente.setNro(datos.getNro());
+        if (datos.getPedido() != null && datos.getPedido().getIdPedido() != null) {
+            existente.setPedido(buscarPedido(datos.getPedido().getIdPedido()));
+        }
+        existente.setFecha(datos.getFecha());
+        existente.setSubtotal(datos.getSubtotal());
+        existente.setTotal(datos.getTotal());
+        return repository.saveAndFlush(existente);
+    }
+
+    @Override
+    @Transactional
+    public Factura patch(Long id, Long versionEsperada, MergePatch<FacturaPatchRequest> patch) {
+        Factura existente = buscarVerificado(id, versionEsperada);
+        FacturaPatchRequest cambios = patch.cambios();
+        if (cambios.getNro() != null) existente.setNro(cambios.getNro());
+        if (cambios.getFecha() != null) existente.setFecha(cambios.getFecha());
+        if (cambios.getSubtotal() != null) existente.setSubtotal(cambios.getSubtotal());
+        if (cambios.getTotal() != null) existente.setTotal(cambios.getTotal());
+        return repository.saveAndFlush(existente);
+    }
+
+    private Pedido buscarPedido(Long idPedido) {
+        return pedidoRepository.findById(idPedido)
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado con ID: " + idPedido));
+    }
+
+    private Factura buscarVerificado(Long id, Long versionEsperada) {
+        Factura existente = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Factura no encontrada con ID: " + id));
+        VersionEtag.verificar(versionEsperada, existente.getVersion(), "La factura " + id);
+        return existente;
+    }
+}
@@ -0,0 +1,216 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.dtos.factura.FacturacionBatchResponse;
+import com.app.emsx.entities.BatchCheckpoint;
+import com.app.emsx.exceptions.BusinessRuleException;
+import com.app.emsx.repositories.BatchCheckpointRepository;
+import com.app.emsx.services.FacturacionBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * 🧾 FacturacionBatchServiceImpl
+ * -----------------------------------------------------
+ * Factura en bloques los pedidos COMPLETADO que aún no tienen factura.
+ * ✅ Los pedidos se reparten en particiones (id_pedido % workers), una por hilo.
+ * ✅ Cada partición recorre sus pedidos por cursor de clave (id_pedido > último)
+ *    e inserta las facturas con INSERT por lotes de JDBC.
+ * ✅ Cada bloque se confirma junto con su checkpoint, así un reinicio continúa
+ *    desde el último bloque confirmado sin duplicar facturas.
+ */
+@Slf4j
+@Service
+public class FacturacionBatchServiceImpl implements FacturacionBatchService {
+
+    private static final String JOB_PREFIX = "facturacion-";
+
+    private static final String SQL_PENDIENTES = """
+            SELECT p.id_pedido, p.total,
+                   COALESCE((SELECT SUM(pp.subtotal) FROM pedido_producto pp WHERE pp.id_pedido = p.id_pedido), p.total) AS subtotal
+            FROM pedidos p
+            WHERE p.estado = 'COMPLETADO'
+              AND p.id_pedido > ?
+              AND MOD(p.id_pedido, ?) = ?
+              AND NOT EXISTS (SELECT 1 FROM facturas f WHERE f.id_pedido = p.id_pedido)
+            ORDER BY p.id_pedido
+            LIMIT ?
+            """;
+
+    // ON CONFLICT: si otra instancia ya facturó el pedido (nro único), se omite sin abortar el bloque
+    private static final String SQL_INSERT_FACTURA = """
+            INSERT INTO facturas (nro, id_pedido, fecha, subtotal, total, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final int workers;
+    private final int chunkSize;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean(false);
+
+    public FacturacionBatchServiceImpl(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       BatchCheckpointRepository checkpointRepository,
+                                       @Qualifier("facturacionExecutor") ThreadPoolTaskExecutor executor,
+                                       @Value("${facturacion.batch.workers:4}") int workers,
+                                       @Value("${facturacion.batch.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.executor = executor;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * ✅ Lanza todas las particiones en el pool acotado
+     */
+    @Override
+    public FacturacionBatchResponse iniciar() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new BusinessRuleException("Ya hay un proceso de facturación por lotes en ejecución");
+        }
+
+        log.info("🧾 Iniciando facturación por lotes: {} particiones, bloques de {}", workers, chunkSize);
+        try {
+            CompletableFuture<?>[] particiones = IntStream.range(0, workers)
+                    .mapToObj(particion -> CompletableFuture.runAsync(() -> procesarParticion(particion), executor))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(particiones).whenComplete((ok, error) -> {
+                enEjecucion.set(false);
+                if (error != null) {
+                    log.error("❌ Facturación por lotes interrumpida: {}", error.getMessage());
+                } else {
+                    log.info("✅ Facturación por lotes completada: {} facturas", estado().getFacturasCreadas());
+                }
+            });
+        } catch (RuntimeException e) {
+            enEjecucion.set(false);
+            throw e;
+        }
+        return estado();
+    }
+
+    /**
+     * ✅ Ejecución programada (desactivada por defecto, cron "-")
+     */
+    @Scheduled(cron = "${facturacion.batch.cron:-}")
+    public void ejecucionProgramada() {
+        // iniciar() decide con compareAndSet: un lote manual puede arrancar entre chequeo y llamada
+        try {
+            iniciar();
+        } catch (BusinessRuleException e) {
+            log.warn("⚠️ Facturación programada omitida: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacturacionBatchResponse estado() {
+        List<BatchCheckpoint> checkpoints = checkpointRepository.findByJobNameStartingWithOrderByJobName(JOB_PREFIX);
+        long creadas = checkpoints.stream().mapToLong(BatchCheckpoint::getProcesados).sum();
+        return FacturacionBatchResponse.builder()
+                .enEjecucion(enEjecucion.get())
+                .facturasCreadas(creadas)
+                .particiones(checkpoints)
+                .build();
+    }
+
+    /**
+     * Recorre una partición bloque a bloque.
+     * - Si el checkpoint quedó EN_CURSO (caída), se reanuda desde su last_id.
+     * - Si quedó COMPLETADO, se empieza de cero (nuevo cierre).
+     */
+    private void procesarParticion(int particion) {
+        String jobName = JOB_PREFIX + particion;
+        BatchCheckpoint checkpoint = checkpointRepository.findById(jobName)
+                .orElseGet(() -> BatchCheckpoint.builder().jobName(jobName).build());
+
+        if (!BatchCheckpoint.EN_CURSO.equals(checkpoint.getEstado())) {
+            checkpoint.setLastId(0L);
+            checkpoint.setProcesados(0L);
+            checkpoint.setEstado(BatchCheckpoint.EN_CURSO);
+            checkpoint = checkpointRepository.save(checkpoint);
+        } else {
+            log.info("🔄 Reanudando {} desde id_pedido > {}", jobName, checkpoint.getLastId());
+        }
+
+        while (true) {
+            List<PedidoPendiente> bloque = jdbcTemplate.query(SQL_PENDIENTES,
+                    (rs, rowNum) -> new PedidoPendiente(
+                            rs.getLong("id_pedido"),
+                            rs.getBigDecimal("subtotal"),
+                            rs.getBigDecimal("total")),
+                    checkpoint.getLastId(), workers, particion, chunkSize);
+
+            if (bloque.isEmpty()) {
+                break;
+            }
+
+            BatchCheckpoint actual = checkpoint;
+            checkpoint = transactionTemplate.execute(status -> facturarBloque(actual, bloque));
+        }
+
+        checkpoint.setEstado(BatchCheckpoint.COMPLETADO);
+        checkpointRepository.save(checkpoint);
+        log.info("✅ {} completada: {} facturas", jobName, checkpoint.getProcesados());
+    }
+
+    /**
+     * Inserta las facturas del bloque y avanza el checkpoint en la misma transacción.
+     */
+    private BatchCheckpoint facturarBloque(BatchCheckpoint checkpoint, List<PedidoPendiente> bloque) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] resultados = jdbcTemplate.batchUpdate(SQL_INSERT_FACTURA, bloque, bloque.size(), (ps, pedido) -> {
+            ps.setString(1, numeroFactura(pedido.idPedido()));
+            ps.setLong(2, pedido.idPedido());
+            ps.setTimestamp(3, ahora);
+            ps.setBigDecimal(4, pedido.subtotal());
+            ps.setBigDecimal(5, pedido.total());
+            ps.setTimestamp(6, ahora);
+        });
+
+        // Con reWriteBatchedInserts el driver devuelve SUCCESS_NO_INFO (-2): se cuenta como insertada
+        long insertadas = 0;
+        for (int[] lote : resultados) {
+            for (int filas : lote) {
+                if (filas != 0) insertadas++;
+            }
+        }
+
+        checkpoint.setLastId(bloque.get(bloque.size() - 1).idPedido());
+        checkpoint.setProcesados(checkpoint.getProcesados() + insertadas);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Número de factura determinista por pedido: un reintento nunca genera duplicados.
+     */
+    private static String numeroFactura(long idPedido) {
+        return String.format("FAC-%010d", idPedido);
+    }
+
+    private record PedidoPendiente(long idPedido, BigDecimal subtotal, BigDecimal total) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.pedido.PedidoPatchRequest;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.entities.Pedido;
+import com.app.emsx.exceptions.ResourceNotFoundException;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.repositories.PedidoRepository;
+import com.app.emsx.services.PedidoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 📦 PedidoServiceImpl
+ * -----------------------------------------------------
+ * ✅ Los cambios se aplican sobre la entidad cargada (no se hace merge del cuerpo):
+ *    con @DynamicUpdate el UPDATE lleva solo las columnas modificadas.
+ * ✅ saveAndFlush: el chequeo de @Version ocurre dentro del método y la respuesta
+ *    sale con la versión nueva.
+ */
+@Service
+@RequiredArgsConstructor
+public class PedidoServiceImpl implements PedidoService {
+
+    private final PedidoRepository repository;
+    private final ClienteRepository clienteRepository;
+
+    // Una referencia {"idCliente": n} llega sin @Version: Hibernate la trataría como entidad
+    // separada con versión sin inicializar. Se reemplaza por la fila cargada (no un proxy:
+    // sin open-in-view la respuesta se serializa fuera de la sesión)
+    @Override
+    @Transactional
+    public Pedido create(Pedido pedido) {
+        if (pedido.getCliente() != null && pedido.getCliente().getIdCliente() != null) {
+            pedido.setCliente(buscarCliente(pedido.getCliente().getIdCliente()));
+        }
+        return repository.save(pedido);
+    }
+
+    @Override
+    @Transactional
+    public Pedido update(Long id, Long versionEsperada, Pedido datos) {
+        Pedido existente = buscarVerificado(id, versionEsperada);
+        if (datos.getCliente() != null && datos.getCliente().getIdCliente() != null) {
+            existente.setCliente(buscarCliente(datos.getCliente().getIdCliente()));
+        }
+        existente.setFecha(datos.getFecha());
+        existente.setTotal(datos.getTotal());
+        existente.setEstado(datos.getEstado());
+        return repository.saveAndFlush(existente);
+    }
+
+    @Override
+    @Transactional
+    public Pedido patch(Long id, Long versionEsperada, MergePatch<PedidoPatchRequest> patch) {
+        Pedido existente = buscarVerificado(id, versionEsperada);
+        // Todos los campos son obligatorios: MergePatchReader ya rechazó los null
+        PedidoPatchRequest cambios = patch.cambios();
+        if (cambios.getEstado() != null) existente.setEstado(cambios.getEstado());
+        if (cambios.getFecha() != null) existente.setFecha(cambios.getFecha());
+        if (cambios.getTotal() != null) existente.setTotal(cambios.getTotal());
+        return repository.saveAndFlush(existente);
+    }
+
+    private Cliente buscarCliente(Long idCliente) {
+        return clienteRepository.findById(idCliente)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + idCliente));
+    }
+
+    private Pedido buscarVerificado(Long id, Long versionEsperada) {
+        Pedido existente = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado con ID: " + id));
+        VersionEtag.verificar(versionEsperada, existente.getVersion(), "El pedido " + id);
+        return existente;
+    }
+}
@@ -0,0 +1,202 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.PageResponse;
+import com.app.emsx.common.VersionEtag;
+import com.app.emsx.dtos.producto.ProductoPatchRequest;
+import com.app.emsx.dtos.producto.ProductoResponse;
+import com.app.emsx.dtos.producto.ProductoSearchRequest;
+import com.app.emsx.entities.Producto;
+import com.app.emsx.exceptions.ResourceNotFoundException;
+import com.app.emsx.mappers.ProductoMapper;
+import com.app.emsx.repositories.ProductoRepository;
+import com.app.emsx.services.ProductoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🛒 ProductoServiceImpl
+ * -----------------------------------------------------
+ * Catálogo de productos con caché en memoria por versión.
+ * ✅ Cada escritura local incrementa la versión al confirmar la transacción:
+ *    la siguiente lectura recarga y ya ve las filas nuevas.
+ * ✅ Tras el TTL se recarga igualmente (cambios hechos por otras instancias);
+ *    si el contenido no cambió, la versión (y el ETag) se mantienen.
+ * ✅ PUT/PATCH sobre la entidad cargada, con control de versión (@Version / If-Match).
+ * ✅ GET /{id} lee la fila de la base: el ETag que devuelve sirve para If-Match.
+ * ✅ Las lecturas desde caché no abren transacción: un acierto no debe tomar
+ *    una conexión del pool (readOnly la obtiene al empezar).
+ */
+@Slf4j
+@Service
+public class ProductoServiceImpl implements ProductoService {
+
+    private final ProductoRepository repository;
+    private final ProductoMapper mapper;
+    private final long ttlNanos;
+
+    // Identifica esta instancia: evita reutilizar ETags de un arranque anterior
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile Catalogo catalogo;
+    // ReentrantLock y no synchronized: con hilos virtuales, bloquear en JDBC dentro de synchronized fija el hilo portador
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    public ProductoServiceImpl(ProductoRepository repository,
+                               ProductoMapper mapper,
+                               @Value("${productos.cache.ttl-seconds:60}") long ttlSegundos) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.ttlNanos = Duration.ofSeconds(ttlSegundos).toNanos();
+    }
+
+    @Override
+    @Transactional
+    public ProductoResponse create(Producto producto) {
+        Producto saved = repository.save(producto);
+        invalidarAlConfirmar();
+        return mapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public ProductoResponse update(Long id, Long versionEsperada, Producto producto) {
+        Producto existente = buscarVerificado(id, versionEsperada);
+        existente.setNombre(producto.getNombre());
+        existente.setDescripcion(producto.getDescripcion());
+        existente.setPrecio(producto.getPrecio());
+        existente.setStock(producto.getStock());
+        return guardar(existente);
+    }
+
+    @Override
+    @Transactional
+    public ProductoResponse patch(Long id, Long versionEsperada, MergePatch<ProductoPatchRequest> patch) {
+        Producto existente = buscarVerificado(id, versionEsperada);
+        mapper.updateEntityFromRequest(patch.cambios(), existente);
+        if (patch.anula("descripcion")) existente.setDescripcion(null);
+        return guardar(existente);
+    }
+
+    private Producto buscarVerificado(Long id, Long versionEsperada) {
+        Producto existente = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado con ID: " + id));
+        VersionEtag.verificar(versionEsperada, existente.getVersion(), "El producto " + id);
+        return existente;
+    }
+
+    // saveAndFlush: el UPDATE (solo columnas cambiadas) y el chequeo de @Version ocurren aquí,
+    // así la respuesta lleva la versión nueva y un conflicto no se descubre recién en el commit
+    private ProductoResponse guardar(Producto producto) {
+        Producto guardado = repository.saveAndFlush(producto);
+        invalidarAlConfirmar();
+        return mapper.toResponse(guardado);
+    }
+
+    // Antes del commit una recarga concurrente leería las filas viejas y las guardaría con la
+    // versión nueva (ETag "vigente" con datos viejos hasta el TTL). Después del commit, una recarga
+    // intermedia a lo sumo guarda filas nuevas con la versión vieja, y se repite en la próxima lectura
+    private void invalidarAlConfirmar() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        repository.deleteById(id);
+        invalidarAlConfirmar();
+    }
+
+    // Desde la base, no desde la caché: su versión es el ETag que vuelve como If-Match,
+    // y la copia de la caché puede venir atrasada hasta un TTL (escrituras de otra instancia)
+    @Override
+    @Transactional(readOnly = true)
+    public ProductoResponse findById(Long id) {
+        return repository.findById(id)
+                .map(mapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado con ID: " + id));
+    }
+
+    @Override
+    public List<ProductoResponse> findAll() {
+        return catalogoActual().productos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ProductoResponse> search(ProductoSearchRequest filtro, Pageable pageable) {
+        return PageResponse.of(repository.search(filtro, pageable));
+    }
+
+    @Override
+    public String catalogEtag() {
+        // Débil: Tomcat no comprime respuestas con ETag fuerte
+        return "W/\"productos-" + instancia + "-" + catalogoActual().version() + "\"";
+    }
+
+    /**
+     * Devuelve la caché vigente o la recarga si la versión cambió o venció el TTL.
+     */
+    private Catalogo catalogoActual() {
+        Catalogo actual = catalogo;
+        if (actual != null && actual.version() == version.get() && !actual.vencido(ttlNanos)) {
+            return actual;
+        }
+        return recargar();
+    }
+
+    private Catalogo recargar() {
+        recarga.lock();
+        try {
+            // Se lee la versión ANTES de consultar: una escritura concurrente deja la caché ya desactualizada
+            long versionLeida = version.get();
+            Catalogo actual = catalogo;
+            if (actual != null && actual.version() == versionLeida && !actual.vencido(ttlNanos)) {
+                return actual;
+            }
+
+            List<ProductoResponse> productos = List.copyOf(mapper.toResponseList(repository.findAll()));
+
+            // Vencimiento por TTL sin cambios reales: se conserva la versión para no invalidar ETags
+            // Si hubo una escritura local mientras tanto, el CAS falla y la caché queda con la versión
+            // vieja, forzando otra recarga en la siguiente lectura
+            if (actual != null && actual.version() == versionLeida && !actual.productos().equals(productos)
+                    && version.compareAndSet(versionLeida, versionLeida + 1)) {
+                versionLeida++;
+            }
+
+            Catalogo nuevo = new Catalogo(versionLeida, productos, System.nanoTime());
+            catalogo = nuevo;
+            log.info("🔄 Caché de productos recargada: {} productos (versión {})", productos.size(), versionLeida);
+            return nuevo;
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    private record Catalogo(long version, List<ProductoResponse> productos, long cargadoEn) {
+
+        boolean vencido(long ttlNanos) {
+            return System.nanoTime() - cargadoEn > ttlNanos;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.emsx.serviceimpls;
 
+import com.app.emsx.common.MergePatch;
 import com.app.emsx.dtos.skill.SkillRequest;
 import com.app.emsx.dtos.skill.SkillResponse;
 import com.app.emsx.entities.Employee;
@@ -27,7 +28,7 @@ import java.util.Set;
  */
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class SkillServiceImpl implements SkillService {
 
     private final SkillRepository repository;
@@ -38,32 +39,28 @@ public class SkillServiceImpl implements SkillService {
      * ✅ Crea una nueva habilidad con o sin empleados asignados
      */
     @Override
+    @Transactional
     public SkillResponse create(SkillRequest request) {
         // Validar duplicados
         if (repository.existsByName(request.getName())) {
             throw new BusinessRuleException("Ya existe una habilidad con el nombre: " + request.getName());
         }
 
-        Skill skill = mapper.toEntity(request);
+        Skill skill = repository.save(mapper.toEntity(request));
 
-        // Si se envían IDs de empleados, los vinculamos
+        // Si se envían IDs de empleados, los vinculamos (la habilidad ya es persistente)
         if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
-            Set<Employee> employees = new HashSet<>();
-            for (Long empId : request.getEmployeeIds()) {
-                Employee employee = employeeRepository.findById(empId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + empId));
-                employees.add(employee);
-            }
-            skill.setEmployees(employees);
+            reasignarEmpleados(skill, buscarEmpleados(request.getEmployeeIds()));
         }
 
-        return mapper.toResponse(repository.save(skill));
+        return mapper.toResponse(skill);
     }
 
     /**
      * ✅ Actualiza los datos de una habilidad existente
      */
     @Override
+    @Transactional
     public SkillResponse update(Long id, SkillRequest request) {
         Skill skill = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Habilidad no encontrada con ID: " + id));
@@ -77,18 +74,63 @@ public class SkillServiceImpl implements SkillService {
 
         // Reasignar empleados si se envían nuevos IDs
         if (request.getEmployeeIds() != null) {
-            Set<Employee> employees = new HashSet<>();
-            for (Long empId : request.getEmployeeIds()) {
-                Employee employee = employeeRepository.findById(empId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + empId));
-                employees.add(employee);
-            }
-            skill.setEmployees(employees);
+            reasignarEmpleados(skill, buscarEmpleados(request.getEmployeeIds()));
         }
 
         return mapper.toResponse(repository.save(skill));
     }
 
+    /**
+     * ✅ JSON Merge Patch: solo los campos presentes; @DynamicUpdate escribe solo las columnas que cambian
+     * - "employeeIds": null vacía la lista de empleados
+     */
+    @Override
+    @Transactional
+    public SkillResponse patch(Long id, MergePatch<SkillRequest> patch) {
+        Skill skill = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Habilidad no encontrada con ID: " + id));
+        SkillRequest cambios = patch.cambios();
+
+        if (cambios.getName() != null && !skill.getName().equals(cambios.getName())
+                && repository.existsByName(cambios.getName())) {
+            throw new BusinessRuleException("Ya existe otra habilidad con el nombre: " + cambios.getName());
+        }
+
+        mapper.updateEntityFromRequest(cambios, skill);
+        if (patch.anula("description")) skill.setDescription(null);
+        if (patch.contiene("employeeIds")) {
+            reasignarEmpleados(skill, cambios.getEmployeeIds() == null ? new HashSet<>() : buscarEmpleados(cambios.getEmployeeIds()));
+        }
+
+        return mapper.toResponse(repository.save(skill));
+    }
+
+    /**
+     * Skill.employees es el lado inverso (mappedBy = "skills"): Hibernate solo persiste
+     * Employee.skills, así que la asignación se aplica en cada empleado afectado
+     */
+    private void reasignarEmpleados(Skill skill, Set<Employee> nuevos) {
+        if (skill.getEmployees() != null) {
+            for (Employee anterior : skill.getEmployees()) {
+                if (!nuevos.contains(anterior)) anterior.getSkills().remove(skill);
+            }
+        }
+        for (Employee employee : nuevos) {
+            employee.getSkills().add(skill);
+        }
+        skill.setEmployees(nuevos);
+    }
+
+    private Set<Employee> buscarEmpleados(List<Long> ids) {
+        Set<Employee> employees = new HashSet<>();
+        for (Long empId : ids) {
+            Employee employee = employeeRepository.findById(empId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Empleado no encontrado con ID: " + empId));
+            employees.add(employee);
+        }
+        return employees;
+    }
+
     /**
      * ✅ Obtiene todas las habilidades
      */
@@ -115,6 +157,7 @@ public class SkillServiceImpl implements SkillService {
      * - Evita eliminar si está vinculada a empleados.
      */
     @Override
+    @Transactional
     public void delete(Long id) {
         Skill skill = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Habilidad no encontrada con ID: " + id));
@@ -0,0 +1,60 @@
+package com.app.emsx.services;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.PageResponse;
+import com.app.emsx.dtos.cliente.ClienteDuplicadosReporte;
+import com.app.emsx.dtos.cliente.ClientePatchRequest;
+import com.app.emsx.dtos.cliente.ClientePedidosResponse;
+import com.app.emsx.dtos.cliente.ClienteResponse;
+import com.app.emsx.dtos.cliente.ClienteSearchRequest;
+import com.app.emsx.entities.Cliente;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 👥 ClienteService
+ * -----------------------------------------------------
+ * Búsquedas indexadas de clientes (punto de venta), detección de duplicados
+ * y actualizaciones con control de versión.
+ */
+public interface ClienteService {
+
+    /**
+     * ✅ Clientes con el email dado (sin distinguir mayúsculas).
+     * Devuelve lista porque el email no es único en la BD.
+     */
+    List<ClienteResponse> findByEmail(String email);
+
+    /**
+     * ✅ Búsqueda paginada por email exacto, prefijo de teléfono y/o nombre.
+     */
+    PageResponse<ClienteResponse> search(ClienteSearchRequest filtro, Pageable pageable);
+
+    /**
+     * ✅ Historial de pedidos del cliente (paginado, más recientes primero) con totales históricos.
+     * Lanza ResourceNotFoundException si el cliente no existe.
+     */
+    ClientePedidosResponse historialPedidos(Long idCliente, Pageable pageable);
+
+    /**
+     * ✅ Último reporte de duplicados (se genera si aún no existe).
+     */
+    ClienteDuplicadosReporte ultimoReporteDuplicados();
+
+    /**
+     * ✅ Recorre todos los clientes y agrupa los que probablemente son la misma persona.
+     */
+    ClienteDuplicadosReporte detectarDuplicados();
+
+    /**
+     * ✅ Reemplaza los campos editables. versionEsperada null = sin verificación de versión.
+     * Lanza PreconditionFailedException si el cliente ya cambió.
+     */
+    ClienteResponse update(Long id, Long versionEsperada, Cliente datos);
+
+    /**
+     * ✅ Aplica un JSON Merge Patch (solo los campos presentes en el documento)
+     */
+    ClienteResponse patch(Long id, Long versionEsperada, MergePatch<ClientePatchRequest> patch);
+}
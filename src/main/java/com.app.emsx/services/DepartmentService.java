@@ -1,5 +1,6 @@
 package com.app.emsx.services;
 
+import com.app.emsx.common.MergePatch;
 import com.app.emsx.dtos.department.DepartmentRequest;
 import com.app.emsx.dtos.department.DepartmentResponse;
 
@@ -8,6 +9,7 @@ import java.util.List;
 public interface DepartmentService {
     DepartmentResponse create(DepartmentRequest request);
     DepartmentResponse update(Long id, DepartmentRequest request);
+    DepartmentResponse patch(Long id, MergePatch<DepartmentRequest> patch);
     void delete(Long id);
     DepartmentResponse findById(Long id);
     List<DepartmentResponse> findAll();
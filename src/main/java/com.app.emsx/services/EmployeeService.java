@@ -1,5 +1,6 @@
 package com.app.emsx.services;
 
+import com.app.emsx.common.MergePatch;
 import com.app.emsx.dtos.employee.EmployeeRequest;
 import com.app.emsx.dtos.employee.EmployeeResponse;
 
@@ -8,6 +9,7 @@ import java.util.List;
 public interface EmployeeService {
     EmployeeResponse create(EmployeeRequest request);
     EmployeeResponse update(Long id, EmployeeRequest request);
+    EmployeeResponse patch(Long id, MergePatch<EmployeeRequest> patch);
     void delete(Long id);
     EmployeeResponse findById(Long id);
     List<EmployeeResponse> findAll();
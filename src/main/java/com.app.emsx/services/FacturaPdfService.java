@@ -0,0 +1,25 @@
+package com.app.emsx.services;
+
+import java.nio.file.Path;
+
+/**
+ * 🧾 FacturaPdfService
+ * -----------------------------------------------------
+ * Genera el PDF de una factura y lo guarda en caché en disco.
+ * - La clave de caché es el hash SHA-256 del contenido de la factura.
+ * - Una factura emitida no cambia, así que cada PDF se genera una sola vez.
+ */
+public interface FacturaPdfService {
+
+    /**
+     * ✅ Devuelve el PDF de la factura, generándolo si aún no está en caché.
+     * Lanza ResourceNotFoundException si la factura no existe.
+     */
+    FacturaPdf obtenerPdf(Long idFactura);
+
+    /**
+     * PDF en caché: archivo en disco + hash de contenido (usado como ETag).
+     */
+    record FacturaPdf(Path archivo, String hash, String nro) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.emsx.services;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.dtos.factura.FacturaPatchRequest;
+import com.app.emsx.entities.Factura;
+
+/**
+ * 🧾 FacturaService
+ * -----------------------------------------------------
+ * Actualizaciones de facturas con control de versión (@Version / If-Match).
+ * - versionEsperada null = sin verificación (último en escribir gana, columna a columna).
+ * - Lanza PreconditionFailedException si la factura ya no está en esa versión.
+ */
+public interface FacturaService {
+
+    /**
+     * ✅ Crea la factura; el pedido se toma por ID (el cuerpo no trae su versión)
+     */
+    Factura create(Factura factura);
+
+    /**
+     * ✅ Reemplaza número, pedido, fecha e importes
+     */
+    Factura update(Long id, Long versionEsperada, Factura datos);
+
+    /**
+     * ✅ Aplica un JSON Merge Patch (solo los campos presentes en el documento)
+     */
+    Factura patch(Long id, Long versionEsperada, MergePatch<FacturaPatchRequest> patch);
+}
@@ -0,0 +1,24 @@
+package com.app.emsx.services;
+
+import com.app.emsx.dtos.factura.FacturacionBatchResponse;
+
+/**
+ * 🧾 FacturacionBatchService
+ * -----------------------------------------------------
+ * Facturación por lotes de los pedidos COMPLETADO sin factura.
+ * - Pensado para el cierre de mes (reemplaza los POST /api/facturas manuales).
+ * - Reanudable: si el proceso se interrumpe, continúa desde el último checkpoint.
+ */
+public interface FacturacionBatchService {
+
+    /**
+     * ✅ Lanza el lote en segundo plano y devuelve el estado inicial.
+     * Lanza BusinessRuleException si ya hay un lote en ejecución.
+     */
+    FacturacionBatchResponse iniciar();
+
+    /**
+     * ✅ Devuelve el progreso actual del lote.
+     */
+    FacturacionBatchResponse estado();
+}
@@ -0,0 +1,30 @@
+package com.app.emsx.services;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.dtos.pedido.PedidoPatchRequest;
+import com.app.emsx.entities.Pedido;
+
+/**
+ * 📦 PedidoService
+ * -----------------------------------------------------
+ * Actualizaciones de pedidos con control de versión (@Version / If-Match).
+ * - versionEsperada null = sin verificación (último en escribir gana, columna a columna).
+ * - Lanza PreconditionFailedException si el pedido ya no está en esa versión.
+ */
+public interface PedidoService {
+
+    /**
+     * ✅ Crea el pedido; el cliente se toma por ID (el cuerpo no trae su versión)
+     */
+    Pedido create(Pedido pedido);
+
+    /**
+     * ✅ Reemplaza cliente, fecha, total y estado (las líneas no se tocan)
+     */
+    Pedido update(Long id, Long versionEsperada, Pedido datos);
+
+    /**
+     * ✅ Aplica un JSON Merge Patch (solo los campos presentes en el documento)
+     */
+    Pedido patch(Long id, Long versionEsperada, MergePatch<PedidoPatchRequest> patch);
+}
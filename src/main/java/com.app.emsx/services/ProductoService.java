@@ -0,0 +1,47 @@
+package com.app.emsx.services;
+
+import com.app.emsx.common.MergePatch;
+import com.app.emsx.common.PageResponse;
+import com.app.emsx.dtos.producto.ProductoPatchRequest;
+import com.app.emsx.dtos.producto.ProductoResponse;
+import com.app.emsx.dtos.producto.ProductoSearchRequest;
+import com.app.emsx.entities.Producto;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 🛒 ProductoService
+ * -----------------------------------------------------
+ * Catálogo de productos con caché en memoria.
+ * - Las lecturas se sirven desde la caché mientras la versión del catálogo no cambie.
+ * - Toda escritura incrementa la versión e invalida la caché.
+ */
+public interface ProductoService {
+    ProductoResponse create(Producto producto);
+
+    /**
+     * ✅ Reemplaza los campos editables. versionEsperada null = sin verificación de versión.
+     * Lanza PreconditionFailedException si el producto ya cambió.
+     */
+    ProductoResponse update(Long id, Long versionEsperada, Producto producto);
+
+    /**
+     * ✅ Aplica un JSON Merge Patch (solo los campos presentes en el documento)
+     */
+    ProductoResponse patch(Long id, Long versionEsperada, MergePatch<ProductoPatchRequest> patch);
+
+    void delete(Long id);
+    ProductoResponse findById(Long id);
+    List<ProductoResponse> findAll();
+
+    /**
+     * ✅ Búsqueda paginada por texto, rango de precio y stock (consulta directa a la BD)
+     */
+    PageResponse<ProductoResponse> search(ProductoSearchRequest filtro, Pageable pageable);
+
+    /**
+     * ✅ ETag del catálogo actual (cambia con cada versión)
+     */
+    String catalogEtag();
+}
@@ -1,5 +1,6 @@
 package com.app.emsx.services;
 
+import com.app.emsx.common.MergePatch;
 import com.app.emsx.dtos.skill.SkillRequest;
 import com.app.emsx.dtos.skill.SkillResponse;
 
@@ -8,6 +9,7 @@ import java.util.List;
 public interface SkillService {
     SkillResponse create(SkillRequest request);
     SkillResponse update(Long id, SkillRequest request);
+    SkillResponse patch(Long id, MergePatch<SkillRequest> patch);
     void delete(Long id);
     SkillResponse findById(Long id);
     List<SkillResponse> findAll();
@@ -0,0 +1,151 @@
+-- =====================================================
+-- V1: esquema inicial (equivalente al que generaba ddl-auto=update)
+-- En bases existentes no se ejecuta: Flyway hace baseline en la versión 1
+-- =====================================================
+
+-- 👥 Usuarios y roles
+CREATE TABLE usuarios (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    firstname  VARCHAR(255),
+    lastname   VARCHAR(255),
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_usuarios PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_username UNIQUE (username),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE roles (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nombre  VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_roles PRIMARY KEY (id),
+    CONSTRAINT uk_roles_nombre UNIQUE (nombre)
+);
+
+CREATE TABLE usuario_rol (
+    rol_id      BIGINT NOT NULL,
+    usuario_id  BIGINT NOT NULL,
+    CONSTRAINT pk_usuario_rol PRIMARY KEY (rol_id, usuario_id),
+    CONSTRAINT fk_usuario_rol_rol FOREIGN KEY (rol_id) REFERENCES roles (id),
+    CONSTRAINT fk_usuario_rol_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+-- 🏢 Empleados
+CREATE TABLE departments (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name         VARCHAR(100) NOT NULL,
+    description  VARCHAR(255),
+    CONSTRAINT pk_departments PRIMARY KEY (id),
+    CONSTRAINT uk_departments_name UNIQUE (name)
+);
+
+CREATE TABLE employees (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name     VARCHAR(100) NOT NULL,
+    last_name      VARCHAR(100) NOT NULL,
+    email          VARCHAR(255) NOT NULL,
+    address        VARCHAR(255),
+    phone          VARCHAR(255),
+    department_id  BIGINT,
+    CONSTRAINT pk_employees PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email),
+    CONSTRAINT fk_employees_department FOREIGN KEY (department_id) REFERENCES departments (id)
+);
+
+CREATE TABLE dependents (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name         VARCHAR(255) NOT NULL,
+    employee_id  BIGINT NOT NULL,
+    CONSTRAINT pk_dependents PRIMARY KEY (id),
+    CONSTRAINT fk_dependents_employee FOREIGN KEY (employee_id) REFERENCES employees (id)
+);
+
+CREATE TABLE skills (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name         VARCHAR(100) NOT NULL,
+    description  VARCHAR(255),
+    CONSTRAINT pk_skills PRIMARY KEY (id),
+    CONSTRAINT uk_skills_name UNIQUE (name)
+);
+
+CREATE TABLE employee_skills (
+    employee_id  BIGINT NOT NULL,
+    skill_id     BIGINT NOT NULL,
+    CONSTRAINT pk_employee_skills PRIMARY KEY (employee_id, skill_id),
+    CONSTRAINT fk_employee_skills_employee FOREIGN KEY (employee_id) REFERENCES employees (id),
+    CONSTRAINT fk_employee_skills_skill FOREIGN KEY (skill_id) REFERENCES skills (id)
+);
+
+-- 🛒 Ventas
+CREATE TABLE clientes (
+    id_cliente  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nombre      VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    telefono    VARCHAR(255),
+    direccion   VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_clientes PRIMARY KEY (id_cliente)
+);
+
+CREATE TABLE productos (
+    id_prod      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nombre       VARCHAR(255) NOT NULL,
+    descripcion  VARCHAR(255),
+    precio       NUMERIC(10, 2) NOT NULL,
+    stock        INTEGER NOT NULL,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT pk_productos PRIMARY KEY (id_prod)
+);
+
+CREATE INDEX idx_productos_precio ON productos (precio);
+
+CREATE TABLE pedidos (
+    id_pedido   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    id_cliente  BIGINT NOT NULL,
+    fecha       TIMESTAMP(6) NOT NULL,
+    total       NUMERIC(10, 2) NOT NULL,
+    estado      VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_pedidos PRIMARY KEY (id_pedido),
+    CONSTRAINT fk_pedidos_cliente FOREIGN KEY (id_cliente) REFERENCES clientes (id_cliente)
+);
+
+CREATE TABLE pedido_producto (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    id_pedido        BIGINT NOT NULL,
+    id_prod          BIGINT NOT NULL,
+    cantidad         INTEGER NOT NULL,
+    precio_unitario  NUMERIC(10, 2) NOT NULL,
+    subtotal         NUMERIC(10, 2) NOT NULL,
+    created_at       TIMESTAMP(6),
+    CONSTRAINT pk_pedido_producto PRIMARY KEY (id),
+    CONSTRAINT fk_pedido_producto_pedido FOREIGN KEY (id_pedido) REFERENCES pedidos (id_pedido),
+    CONSTRAINT fk_pedido_producto_producto FOREIGN KEY (id_prod) REFERENCES productos (id_prod)
+);
+
+CREATE TABLE facturas (
+    id_factura  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nro         VARCHAR(255) NOT NULL,
+    id_pedido   BIGINT NOT NULL,
+    fecha       TIMESTAMP(6) NOT NULL,
+    subtotal    NUMERIC(10, 2) NOT NULL,
+    total       NUMERIC(10, 2) NOT NULL,
+    created_at  TIMESTAMP(6),
+    CONSTRAINT pk_facturas PRIMARY KEY (id_factura),
+    CONSTRAINT uk_facturas_nro UNIQUE (nro),
+    CONSTRAINT fk_facturas_pedido FOREIGN KEY (id_pedido) REFERENCES pedidos (id_pedido)
+);
+
+-- 🧾 Checkpoints de la facturación por lotes
+CREATE TABLE batch_checkpoints (
+    job_name    VARCHAR(100) NOT NULL,
+    last_id     BIGINT NOT NULL,
+    procesados  BIGINT NOT NULL,
+    estado      VARCHAR(255) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_batch_checkpoints PRIMARY KEY (job_name)
+);
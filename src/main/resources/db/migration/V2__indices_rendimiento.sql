@@ -0,0 +1,47 @@
+-- =====================================================
+-- V2: índices de rendimiento
+-- Postgres no indexa las claves foráneas por sí solo: sin estos índices cada
+-- join o borrado en cascada por FK recorre la tabla hija completa.
+-- IF NOT EXISTS: en bases existentes algunos ya los creaba SearchIndexInitializer.
+-- =====================================================
+
+-- 🔗 Claves foráneas
+CREATE INDEX IF NOT EXISTS idx_employees_department ON employees (department_id);
+CREATE INDEX IF NOT EXISTS idx_dependents_employee ON dependents (employee_id);
+-- employee_skills.employee_id ya es la primera columna de la PK
+CREATE INDEX IF NOT EXISTS idx_employee_skills_skill ON employee_skills (skill_id);
+-- usuario_rol: la PK empieza por rol_id, la carga de roles de un usuario filtra por usuario_id
+CREATE INDEX IF NOT EXISTS idx_usuario_rol_usuario ON usuario_rol (usuario_id);
+CREATE INDEX IF NOT EXISTS idx_pedido_producto_pedido ON pedido_producto (id_pedido);
+CREATE INDEX IF NOT EXISTS idx_pedido_producto_producto ON pedido_producto (id_prod);
+CREATE INDEX IF NOT EXISTS idx_facturas_pedido ON facturas (id_pedido);
+
+-- pedidos.id_cliente: índice cubriente para el historial por cliente (GET /api/clientes/{id}/pedidos);
+-- id_cliente es su primera columna, así que también sirve a los joins por FK
+CREATE INDEX IF NOT EXISTS idx_pedidos_cliente_fecha
+    ON pedidos (id_cliente, fecha DESC, id_pedido DESC) INCLUDE (total, estado);
+
+-- 🔍 Búsqueda de clientes: lower(email) y prefijo de teléfono
+CREATE INDEX IF NOT EXISTS idx_clientes_email_lower ON clientes (lower(email));
+CREATE INDEX IF NOT EXISTS idx_clientes_telefono_prefix ON clientes (telefono text_pattern_ops);
+
+-- 🔍 Búsquedas ILIKE '%texto%' con trigramas (pg_trgm)
+-- Sin permisos para CREATE EXTENSION la migración no falla: la búsqueda funciona, pero sin índice
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION
+    WHEN insufficient_privilege THEN
+        RAISE WARNING 'pg_trgm no disponible (%): se omiten los índices trigram', SQLERRM;
+END
+$$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_productos_nombre_trgm ON productos USING gin (nombre gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_productos_descripcion_trgm ON productos USING gin (descripcion gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_clientes_nombre_trgm ON clientes USING gin (nombre gin_trgm_ops);
+    END IF;
+END
+$$;
@@ -0,0 +1,38 @@
+-- =====================================================
+-- V3: completa firstname / lastname / username vacíos en usuarios
+-- Reemplaza a DataMigration (@PostConstruct), que recorría la tabla completa
+-- en cada arranque. Al ser una migración versionada corre una sola vez y
+-- con sentencias por conjunto, sin cargar entidades.
+-- =====================================================
+
+-- firstname: parte local del email (máx. 50 caracteres) o "Usuario"
+UPDATE usuarios
+SET firstname = CASE
+        WHEN split_part(email, '@', 1) <> '' AND position('@' IN email) > 0
+            THEN left(split_part(email, '@', 1), 50)
+        ELSE 'Usuario'
+    END
+WHERE firstname IS NULL OR btrim(firstname) = '';
+
+UPDATE usuarios
+SET lastname = 'Sin Apellido'
+WHERE lastname IS NULL OR btrim(lastname) = '';
+
+-- username: parte local del email si está libre (y no la reclama otro usuario
+-- de este mismo lote); si no, "user" + id para no violar uk_usuarios_username
+WITH candidatos AS (
+    SELECT id,
+           NULLIF(split_part(email, '@', 1), '') AS base,
+           row_number() OVER (PARTITION BY split_part(email, '@', 1) ORDER BY id) AS orden
+    FROM usuarios
+    WHERE username IS NULL OR btrim(username) = ''
+)
+UPDATE usuarios u
+SET username = CASE
+        WHEN c.base IS NOT NULL AND c.orden = 1
+             AND NOT EXISTS (SELECT 1 FROM usuarios o WHERE o.username = c.base)
+            THEN c.base
+        ELSE 'user' || u.id
+    END
+FROM candidatos c
+WHERE u.id = c.id;
@@ -0,0 +1,10 @@
+-- =====================================================
+-- V4: índices para la versión de los listados (ETag)
+-- =====================================================
+-- GET /api/pedidos y /api/clientes calculan su ETag con MAX(updated_at) / MAX(created_at):
+-- con índice, cada MAX es una lectura del extremo del árbol en vez de recorrer la tabla.
+
+CREATE INDEX IF NOT EXISTS idx_pedidos_updated_at ON pedidos (updated_at);
+CREATE INDEX IF NOT EXISTS idx_clientes_updated_at ON clientes (updated_at);
+CREATE INDEX IF NOT EXISTS idx_productos_updated_at ON productos (updated_at);
+CREATE INDEX IF NOT EXISTS idx_pedido_producto_created_at ON pedido_producto (created_at);
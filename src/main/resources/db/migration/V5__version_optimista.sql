@@ -0,0 +1,11 @@
+-- =====================================================
+-- V5: columnas de versión para bloqueo optimista (@Version)
+-- =====================================================
+-- Hibernate agrega "AND version = ?" a cada UPDATE/DELETE e incrementa el valor;
+-- si otra transacción la cambió antes, no se actualiza ninguna fila y la escritura
+-- responde 409. DEFAULT 0 cubre las filas existentes y los INSERT por JDBC.
+
+ALTER TABLE pedidos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE productos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE facturas ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,36 @@
+package com.app.emsx;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * H2IntegrationTest
+ * -----------------------------------------------------
+ * Configuración común de los tests de integración sobre H2 (perfil "h2").
+ * ✔ Todas las clases que la usan comparten el mismo contexto de Spring (caché de
+ *   contextos del TestContext) y por lo tanto la misma base en memoria: cada test
+ *   crea sus propios datos y no asume tablas vacías
+ * ✔ X-Query-Count y estadísticas de Hibernate activas para los presupuestos de consultas
+ * ✔ Una clase que necesite otras propiedades tendrá su propio contexto: debe usar
+ *   también su propia base (spring.datasource.url), porque ddl-auto=create-drop
+ *   de un contexto borraría las tablas del otro
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {
+        "emsx.sql.debug-headers=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public @interface H2IntegrationTest {
+}
@@ -0,0 +1,71 @@
+package com.app.emsx.config;
+
+import com.app.emsx.common.ApiResponse;
+import com.app.emsx.dtos.department.DepartmentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ApiResponseHttpMessageConverterTest
+ * -----------------------------------------------------
+ * ✔ El escritor en streaming produce exactamente el mismo JSON que Jackson
+ *   serializando ApiResponse completo (listas, conjuntos, mapas, objetos y null)
+ * ✔ Solo se ofrece para escribir ApiResponse en JSON
+ */
+class ApiResponseHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+
+    private final ApiResponseHttpMessageConverter converter = new ApiResponseHttpMessageConverter(objectMapper);
+
+    @Test
+    void listaConElementosNulos() throws Exception {
+        List<DepartmentResponse> departamentos = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            departamentos.add(DepartmentResponse.builder().id(i).name("Depto " + i).description("Área " + i).build());
+        }
+        departamentos.add(null);
+
+        mismoJson(ApiResponse.ok("Departamentos obtenidos correctamente", departamentos));
+    }
+
+    @Test
+    void conjuntosMapasYObjetos() throws Exception {
+        mismoJson(ApiResponse.ok("Conjunto", new LinkedHashSet<>(Arrays.asList("a", "b"))));
+        mismoJson(ApiResponse.ok("Mapa", Map.of("email", "Formato inválido")));
+        mismoJson(ApiResponse.ok("Objeto", DepartmentResponse.builder().id(9L).name("Legal").build()));
+        mismoJson(ApiResponse.ok("Vacía", List.of()));
+        mismoJson(ApiResponse.fail("Recurso no encontrado"));
+    }
+
+    @Test
+    void soloEscrituraJson() {
+        assertThat(converter.canWrite(ApiResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(ApiResponse.class, MediaType.valueOf("application/merge-patch+json"))).isTrue();
+        assertThat(converter.canWrite(Map.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(ApiResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private void mismoJson(ApiResponse<?> respuesta) throws Exception {
+        MockHttpOutputMessage salida = new MockHttpOutputMessage();
+        converter.write(respuesta, MediaType.APPLICATION_JSON, salida);
+
+        assertThat(salida.getBodyAsString(StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(respuesta));
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.emsx.config;
+
+import com.app.emsx.H2IntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jackson.JsonComponentModule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JacksonConfigTest
+ * -----------------------------------------------------
+ * ✔ Blackbird se suma a los módulos de Boot sin reemplazarlos
+ */
+@H2IntegrationTest
+class JacksonConfigTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void blackbirdNoReemplazaLosModulosDeBoot() {
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(
+                new BlackbirdModule().getTypeId(),
+                new ParameterNamesModule().getTypeId(),
+                new JsonComponentModule().getTypeId());
+    }
+}
@@ -0,0 +1,119 @@
+package com.app.emsx.controllers;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.entities.Pedido;
+import com.app.emsx.entities.Producto;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.repositories.PedidoRepository;
+import com.app.emsx.repositories.ProductoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * CborNegotiationTest
+ * -----------------------------------------------------
+ * ✔ Accept: application/cbor → mismo ApiResponse codificado en CBOR
+ * ✔ Sin Accept (o con JSON) la respuesta sigue siendo JSON
+ * ✔ Las respuestas llevan Vary: Accept
+ * ✔ If-None-Match también responde 304 en CBOR (el ETag ignora el timestamp)
+ */
+@H2IntegrationTest
+@WithMockUser(roles = "ADMIN")
+class CborNegotiationTest {
+
+    private final CBORMapper cbor = new CBORMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @BeforeEach
+    void sembrarDatos() {
+        if (!clienteRepository.findByEmailNormalizado("cliente1@emsx.com").isEmpty()) return;
+        for (int i = 1; i <= 20; i++) {
+            Cliente cliente = clienteRepository.save(Cliente.builder()
+                    .nombre("Cliente " + i).email("cliente" + i + "@emsx.com").telefono("5550000" + i).build());
+            pedidoRepository.save(Pedido.builder()
+                    .cliente(cliente).fecha(LocalDateTime.now()).total(new BigDecimal("10.50")).estado("PENDIENTE").build());
+            productoRepository.save(Producto.builder()
+                    .nombre("Producto " + i).precio(new BigDecimal("3.25")).stock(i).build());
+        }
+    }
+
+    @ParameterizedTest(name = "GET {0} en CBOR = mismo contenido que en JSON")
+    @ValueSource(strings = {"/api/clientes", "/api/pedidos", "/api/productos", "/api/employees"})
+    void mismoContenidoQueJson(String ruta) throws Exception {
+        MvcResult json = mockMvc.perform(get(ruta).accept(MediaType.APPLICATION_JSON)).andReturn();
+        MvcResult binario = mockMvc.perform(get(ruta).accept(MediaType.APPLICATION_CBOR)).andReturn();
+
+        assertThat(binario.getResponse().getStatus()).isEqualTo(200);
+        assertThat(binario.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(binario.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        JsonNode desdeJson = objectMapper.readTree(json.getResponse().getContentAsByteArray());
+        JsonNode desdeCbor = cbor.readTree(binario.getResponse().getContentAsByteArray());
+        assertThat(desdeCbor.get("success").asBoolean()).isTrue();
+        // Comparación textual: CBOR conserva BigDecimal como decimal y JSON lo relee como double
+        assertThat(desdeCbor.get("data").toString()).isEqualTo(desdeJson.get("data").toString());
+        assertThat(binario.getResponse().getContentAsByteArray().length)
+                .isLessThan(json.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void jsonSigueSiendoElFormatoPorDefecto() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/clientes")).andReturn();
+
+        assertThat(resultado.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(objectMapper.readTree(resultado.getResponse().getContentAsString()).get("success").asBoolean()).isTrue();
+    }
+
+    @Test
+    void erroresTambienEnCbor() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/employees/{id}", 999_999).accept(MediaType.APPLICATION_CBOR)).andReturn();
+
+        assertThat(resultado.getResponse().getStatus()).isEqualTo(404);
+        assertThat(cbor.readTree(resultado.getResponse().getContentAsByteArray()).get("success").asBoolean()).isFalse();
+    }
+
+    @Test
+    void etagEstableEnCbor() throws Exception {
+        MvcResult primera = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR)).andReturn();
+        String etag = primera.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        MvcResult segunda = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertThat(segunda.getResponse().getStatus()).isEqualTo(304);
+        assertThat(segunda.getResponse().getContentAsByteArray()).isEmpty();
+    }
+}
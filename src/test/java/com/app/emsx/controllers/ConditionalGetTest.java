@@ -0,0 +1,127 @@
+package com.app.emsx.controllers;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.entities.Department;
+import com.app.emsx.entities.Pedido;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.repositories.DepartmentRepository;
+import com.app.emsx.repositories.PedidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * ConditionalGetTest
+ * -----------------------------------------------------
+ * ✔ Los listados devuelven ETag débil (compatible con la compresión de Tomcat)
+ * ✔ Pedidos y clientes responden 304 con una sola consulta de agregados,
+ *   sin cargar filas
+ * ✔ El ETag cambia al crear o modificar registros
+ * ✔ El resto de listados usa el ETag del cuerpo (ShallowEtagHeaderFilter)
+ */
+@H2IntegrationTest
+@WithMockUser(roles = "ADMIN")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    // Cliente con pedido propio de esta clase (la base es compartida con otros tests)
+    private Cliente cliente;
+
+    @BeforeEach
+    void sembrarDatos() {
+        List<Cliente> existentes = clienteRepository.findByEmailNormalizado("ana@emsx.com");
+        if (!existentes.isEmpty()) {
+            cliente = existentes.get(0);
+            return;
+        }
+        cliente = clienteRepository.save(Cliente.builder()
+                .nombre("Ana Pérez").email("ana@emsx.com").telefono("555123456").direccion("Centro 1").build());
+        pedidoRepository.save(Pedido.builder()
+                .cliente(cliente).fecha(LocalDateTime.now()).total(new BigDecimal("10.00")).estado("PENDIENTE").build());
+        departmentRepository.save(Department.builder().name("Comercial ETag").description("Comercial").build());
+    }
+
+    @Test
+    void clientesResponde304SinCargarFilas() throws Exception {
+        String etag = etagDe("/api/clientes");
+
+        MvcResult condicional = mockMvc.perform(get("/api/clientes").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertThat(condicional.getResponse().getStatus()).isEqualTo(304);
+        assertThat(condicional.getResponse().getContentAsString()).isEmpty();
+        assertThat(condicional.getResponse().getHeader("X-Query-Count")).isEqualTo("1");
+    }
+
+    @Test
+    void clientesCambiaElEtagAlModificar() throws Exception {
+        String antes = etagDe("/api/clientes");
+
+        cliente.setDireccion("Centro " + System.nanoTime());
+        clienteRepository.save(cliente);
+
+        MvcResult condicional = mockMvc.perform(get("/api/clientes").header(HttpHeaders.IF_NONE_MATCH, antes)).andReturn();
+        assertThat(condicional.getResponse().getStatus()).isEqualTo(200);
+        assertThat(condicional.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(antes);
+    }
+
+    @Test
+    void pedidosResponde304SinCargarFilas() throws Exception {
+        String etag = etagDe("/api/pedidos");
+
+        MvcResult condicional = mockMvc.perform(get("/api/pedidos").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertThat(condicional.getResponse().getStatus()).isEqualTo(304);
+        assertThat(condicional.getResponse().getHeader("X-Query-Count")).isEqualTo("1");
+    }
+
+    @Test
+    void pedidosCambiaElEtagAlCambiarElCliente() throws Exception {
+        String antes = etagDe("/api/pedidos");
+
+        // El cliente viaja embebido en cada pedido: modificarlo invalida el listado
+        cliente.setTelefono("555" + (System.nanoTime() % 1_000_000));
+        clienteRepository.save(cliente);
+
+        assertThat(etagDe("/api/pedidos")).isNotEqualTo(antes);
+    }
+
+    @Test
+    void departamentosUsanEtagDelCuerpo() throws Exception {
+        String etag = etagDe("/api/departments");
+
+        MvcResult condicional = mockMvc.perform(get("/api/departments").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertThat(condicional.getResponse().getStatus()).isEqualTo(304);
+    }
+
+    private String etagDe(String ruta) throws Exception {
+        MvcResult resultado = mockMvc.perform(get(ruta)).andReturn();
+        assertThat(resultado.getResponse().getStatus()).isEqualTo(200);
+        String etag = resultado.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+        return etag;
+    }
+}
@@ -0,0 +1,208 @@
+package com.app.emsx.controllers;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.entities.Department;
+import com.app.emsx.entities.Employee;
+import com.app.emsx.entities.Producto;
+import com.app.emsx.entities.Skill;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.repositories.DepartmentRepository;
+import com.app.emsx.repositories.EmployeeRepository;
+import com.app.emsx.repositories.ProductoRepository;
+import com.app.emsx.repositories.SkillRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MergePatchTest
+ * -----------------------------------------------------
+ * ✔ PATCH con application/merge-patch+json (RFC 7396): solo cambian los miembros enviados
+ * ✔ El UPDATE lleva solo las columnas modificadas (@DynamicUpdate)
+ * ✔ null borra campos opcionales; en campos obligatorios → 400
+ * ✔ Miembros que no son campos editables → 400
+ * ✔ employeeIds de una habilidad se persiste en el lado dueño (Employee.skills)
+ */
+@H2IntegrationTest
+@WithMockUser(roles = "ADMIN")
+@ExtendWith(OutputCaptureExtension.class)
+class MergePatchTest {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // SQL en el log solo durante esta clase: una propiedad logging.* separaría su contexto del resto
+    @BeforeEach
+    void mostrarSql() {
+        loggingSystem.setLogLevel("org.hibernate.SQL", LogLevel.DEBUG);
+    }
+
+    @AfterEach
+    void ocultarSql() {
+        loggingSystem.setLogLevel("org.hibernate.SQL", null);
+    }
+
+    @Test
+    void telefonoDeEmpleadoActualizaSoloEsaColumna(CapturedOutput salida) throws Exception {
+        Employee empleado = nuevoEmpleado("telefono@emsx.com");
+
+        enviar("/api/employees/{id}", empleado.getId(), "{\"phone\":\"555777666\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.phone").value("555777666"))
+                .andExpect(jsonPath("$.data.firstName").value("Ana"))
+                .andExpect(jsonPath("$.data.departmentName").value("Patch"));
+
+        assertThat(salida.getOut()).contains("update employees set phone=? where id=?");
+    }
+
+    @Test
+    void nullBorraCamposOpcionales() throws Exception {
+        Employee empleado = nuevoEmpleado("borrar@emsx.com");
+
+        enviar("/api/employees/{id}", empleado.getId(), "{\"address\":null,\"departmentId\":null}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.departmentName").doesNotExist())
+                .andExpect(jsonPath("$.data.firstName").value("Ana"));
+
+        assertThat(employeeRepository.findById(empleado.getId()).orElseThrow().getAddress()).isNull();
+    }
+
+    @Test
+    void nullEnCampoObligatorioResponde400() throws Exception {
+        Employee empleado = nuevoEmpleado("obligatorio@emsx.com");
+
+        enviar("/api/employees/{id}", empleado.getId(), "{\"firstName\":null}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data.firstName").exists());
+    }
+
+    @Test
+    void camposNoEditablesResponden400() throws Exception {
+        Employee empleado = nuevoEmpleado("desconocido@emsx.com");
+
+        enviar("/api/employees/{id}", empleado.getId(), "{\"id\":999}")
+                .andExpect(status().isBadRequest());
+        enviar("/api/employees/{id}", empleado.getId(), "[]")
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ajusteDeStockNoReescribeElProducto(CapturedOutput salida) throws Exception {
+        Producto producto = productoRepository.save(Producto.builder()
+                .nombre("Mouse").descripcion("Inalámbrico").precio(new BigDecimal("15.00")).stock(10).build());
+
+        enviar("/api/productos/{id}", producto.getIdProd(), "{\"stock\":7}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.stock").value(7))
+                .andExpect(jsonPath("$.data.descripcion").value("Inalámbrico"));
+
+        String update = salida.getOut().lines()
+                .filter(l -> l.contains("update productos set"))
+                .reduce((a, b) -> b).orElseThrow();
+        assertThat(update).contains("stock=?").doesNotContain("nombre=?", "precio=?", "descripcion=?");
+    }
+
+    @Test
+    void telefonoDeClienteSePuedeBorrar() throws Exception {
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nombre("Luis").email("luis@emsx.com").telefono("555123123").direccion("Norte").build());
+
+        enviar("/api/clientes/{id}", cliente.getIdCliente(), "{\"telefono\":null}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.telefono").doesNotExist())
+                .andExpect(jsonPath("$.data.direccion").value("Norte"));
+    }
+
+    @Test
+    void descripcionDeDepartamento() throws Exception {
+        Department departamento = departmentRepository.save(Department.builder().name("Legal").description("Contratos").build());
+
+        enviar("/api/departments/{id}", departamento.getId(), "{\"description\":\"Contratos y litigios\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Legal"))
+                .andExpect(jsonPath("$.data.description").value("Contratos y litigios"));
+    }
+
+    @Test
+    void empleadosDeHabilidadSePersisten() throws Exception {
+        Employee empleado = nuevoEmpleado("kotlin@emsx.com");
+        Skill habilidad = skillRepository.save(Skill.builder().name("Kotlin").description("JVM").build());
+
+        enviar("/api/skills/{id}", habilidad.getId(), "{\"employeeIds\":[" + empleado.getId() + "]}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employeeNames[0]").value("Ana Prueba"));
+        assertThat(empleadosDe(habilidad.getId())).containsExactly(empleado.getId());
+
+        enviar("/api/skills/{id}", habilidad.getId(), "{\"employeeIds\":null}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employeeNames").isEmpty());
+        assertThat(empleadosDe(habilidad.getId())).isEmpty();
+    }
+
+    // Relee la habilidad en una transacción nueva: lo que quedó en la base, no la respuesta
+    private Set<Long> empleadosDe(Long skillId) {
+        return transactionTemplate.execute(status -> skillRepository.findById(skillId).orElseThrow()
+                .getEmployees().stream().map(Employee::getId).collect(Collectors.toSet()));
+    }
+
+    private ResultActions enviar(String ruta, Long id, String documento) throws Exception {
+        return mockMvc.perform(patch(ruta, id).contentType(MERGE_PATCH).content(documento));
+    }
+
+    private Employee nuevoEmpleado(String email) {
+        Department departamento = departmentRepository.findAll().stream()
+                .filter(d -> d.getName().equals("Patch")).findFirst()
+                .orElseGet(() -> departmentRepository.save(Department.builder().name("Patch").description("Pruebas").build()));
+        Employee empleado = new Employee();
+        empleado.setFirstName("Ana");
+        empleado.setLastName("Prueba");
+        empleado.setEmail(email);
+        empleado.setAddress("Calle 1");
+        empleado.setPhone("55500011");
+        empleado.setDepartment(departamento);
+        return employeeRepository.save(empleado);
+    }
+}
@@ -0,0 +1,227 @@
+package com.app.emsx.controllers;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.entities.Pedido;
+import com.app.emsx.entities.Producto;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.repositories.PedidoRepository;
+import com.app.emsx.repositories.ProductoRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * OptimisticLockingTest
+ * -----------------------------------------------------
+ * ✔ GET /{id} devuelve la versión como ETag fuerte
+ * ✔ PATCH modifica solo los campos enviados e incrementa la versión
+ * ✔ If-Match (o "version" en el cuerpo) desactualizado → 412 sin escribir
+ * ✔ Dos escrituras sobre la misma versión: la segunda falla por @Version
+ * ✔ El ETag de un pedido cambia si cambia el cliente embebido; If-Match acepta ese ETag
+ * ✔ El ETag de GET /api/productos/{id} sale de la base, no de la caché del catálogo
+ * ✔ POST de pedido/factura con referencia por ID (sin versión) se guarda
+ */
+@H2IntegrationTest
+@WithMockUser(roles = "ADMIN")
+class OptimisticLockingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Test
+    void patchConIfMatchVigenteModificaSoloLosCamposEnviados() throws Exception {
+        Cliente cliente = nuevoCliente("patch@emsx.com");
+
+        mockMvc.perform(get("/api/clientes/{id}", cliente.getIdCliente()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(patch("/api/clientes/{id}", cliente.getIdCliente())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefono\":\"555999888\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.data.telefono").value("555999888"))
+                .andExpect(jsonPath("$.data.nombre").value("Cliente Prueba"))
+                .andExpect(jsonPath("$.data.version").value(1));
+    }
+
+    @Test
+    void ifMatchDesactualizadoResponde412SinEscribir() throws Exception {
+        Cliente cliente = nuevoCliente("stale@emsx.com");
+        mockMvc.perform(patch("/api/clientes/{id}", cliente.getIdCliente())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"direccion\":\"Primera\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/clientes/{id}", cliente.getIdCliente())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"direccion\":\"Segunda\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(clienteRepository.findById(cliente.getIdCliente()).orElseThrow().getDireccion()).isEqualTo("Primera");
+    }
+
+    @Test
+    void ifMatchDebilNuncaCoincide() throws Exception {
+        Cliente cliente = nuevoCliente("weak@emsx.com");
+
+        mockMvc.perform(patch("/api/clientes/{id}", cliente.getIdCliente())
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"direccion\":\"Otra\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void putConVersionEnElCuerpoDesactualizadaResponde412() throws Exception {
+        Producto producto = productoRepository.save(Producto.builder()
+                .nombre("Teclado").precio(new BigDecimal("20.00")).stock(5).build());
+        mockMvc.perform(patch("/api/productos/{id}", producto.getIdProd())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stock\":4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        mockMvc.perform(put("/api/productos/{id}", producto.getIdProd())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Teclado\",\"precio\":25.00,\"stock\":5,\"version\":0}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(productoRepository.findById(producto.getIdProd()).orElseThrow().getStock()).isEqualTo(4);
+    }
+
+    @Test
+    void patchDePedidoCambiaElEstado() throws Exception {
+        Pedido pedido = pedidoRepository.save(Pedido.builder()
+                .cliente(nuevoCliente("pedido@emsx.com")).fecha(LocalDateTime.now())
+                .total(new BigDecimal("10.00")).estado("PENDIENTE").build());
+
+        mockMvc.perform(patch("/api/pedidos/{id}", pedido.getIdPedido())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"estado\":\"COMPLETADO\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.estado").value("COMPLETADO"))
+                .andExpect(jsonPath("$.data.total").value(10.00));
+    }
+
+    @Test
+    void escrituraSobreVersionVencidaFallaPorVersion() {
+        Cliente cliente = nuevoCliente("concurrente@emsx.com");
+        Cliente copiaA = clienteRepository.findById(cliente.getIdCliente()).orElseThrow();
+        Cliente copiaB = clienteRepository.findById(cliente.getIdCliente()).orElseThrow();
+
+        copiaA.setNombre("Editor A");
+        clienteRepository.save(copiaA);
+
+        copiaB.setNombre("Editor B");
+        assertThatThrownBy(() -> clienteRepository.save(copiaB))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(clienteRepository.findById(cliente.getIdCliente()).orElseThrow().getNombre()).isEqualTo("Editor A");
+    }
+
+    @Test
+    void etagDelPedidoIncluyeElClienteEmbebido() throws Exception {
+        Cliente cliente = nuevoCliente("embebido@emsx.com");
+        Pedido pedido = pedidoRepository.save(Pedido.builder()
+                .cliente(cliente).fecha(LocalDateTime.now()).total(new BigDecimal("10.00")).estado("PENDIENTE").build());
+
+        String etag = mockMvc.perform(get("/api/pedidos/{id}", pedido.getIdPedido()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/pedidos/{id}", pedido.getIdPedido()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/clientes/{id}", cliente.getIdCliente())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Cliente Renombrado\"}"))
+                .andExpect(status().isOk());
+
+        String nuevo = mockMvc.perform(get("/api/pedidos/{id}", pedido.getIdPedido()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.cliente.nombre").value("Cliente Renombrado"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(nuevo).isNotEqualTo(etag).startsWith("\"0.");
+
+        mockMvc.perform(patch("/api/pedidos/{id}", pedido.getIdPedido())
+                        .header(HttpHeaders.IF_MATCH, nuevo)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"estado\":\"CANCELADO\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void etagDeProductoSaleDeLaBase() throws Exception {
+        Producto producto = productoRepository.save(Producto.builder()
+                .nombre("Monitor").precio(new BigDecimal("90.00")).stock(3).build());
+        mockMvc.perform(get("/api/productos"));
+
+        // Escritura de "otra instancia": no pasa por el servicio, la caché del catálogo no se entera
+        producto.setStock(2);
+        productoRepository.save(producto);
+
+        mockMvc.perform(get("/api/productos/{id}", producto.getIdProd()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.data.stock").value(2));
+        mockMvc.perform(patch("/api/productos/{id}", producto.getIdProd())
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stock\":1}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void crearConReferenciaPorId() throws Exception {
+        Cliente cliente = nuevoCliente("referencia@emsx.com");
+
+        String pedido = mockMvc.perform(post("/api/pedidos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cliente\":{\"idCliente\":" + cliente.getIdCliente()
+                                + "},\"fecha\":\"2026-01-10T10:00:00\",\"total\":15.00,\"estado\":\"PENDIENTE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn().getResponse().getContentAsString();
+        long idPedido = JsonPath.parse(pedido).read("$.data.idPedido", Long.class);
+
+        mockMvc.perform(post("/api/facturas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nro\":\"REF-" + idPedido + "\",\"pedido\":{\"idPedido\":" + idPedido
+                                + "},\"fecha\":\"2026-01-10T10:00:00\",\"subtotal\":15.00,\"total\":15.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    private Cliente nuevoCliente(String email) {
+        return clienteRepository.save(Cliente.builder()
+                .nombre("Cliente Prueba").email(email).telefono("555000111").direccion("Centro").build());
+    }
+}
@@ -0,0 +1,183 @@
+package com.app.emsx.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * LoadDataGenerator
+ * -----------------------------------------------------
+ * ✔ Genera volúmenes configurables de datos realistas para el harness de carga
+ * ✔ Inserta con JDBC por lotes (sin pasar por JPA): miles de filas por segundo
+ * ✔ Semilla fija: cada ejecución produce exactamente los mismos datos
+ *
+ * Volúmenes por propiedad de sistema (valores por defecto entre paréntesis):
+ * load.departments (20), load.skills (50), load.employees (2000),
+ * load.clientes (5000), load.productos (1000), load.pedidos (20000)
+ * Las facturas se generan para los pedidos COMPLETADO.
+ */
+class LoadDataGenerator {
+
+    private static final int TAMANO_LOTE = 1000;
+    private static final String[] NOMBRES = {"Ana", "Luis", "María", "José", "Carmen", "Jorge", "Lucía", "Pedro", "Rosa", "Diego"};
+    private static final String[] APELLIDOS = {"García", "Pérez", "Rodríguez", "López", "Torres", "Flores", "Rojas", "Díaz", "Vargas", "Castro"};
+    private static final String[] ESTADOS = {"PENDIENTE", "COMPLETADO", "COMPLETADO", "COMPLETADO", "CANCELADO"};
+
+    record Volumenes(int departments, int skills, int employees, int clientes, int productos, int pedidos) {
+
+        static Volumenes desdePropiedades() {
+            return new Volumenes(
+                    Integer.getInteger("load.departments", 20),
+                    Integer.getInteger("load.skills", 50),
+                    Integer.getInteger("load.employees", 2000),
+                    Integer.getInteger("load.clientes", 5000),
+                    Integer.getInteger("load.productos", 1000),
+                    Integer.getInteger("load.pedidos", 20000));
+        }
+    }
+
+    /** Rango de IDs generados [desde, hasta]. */
+    record Rango(long desde, long hasta) {
+
+        long aleatorio(Random random) {
+            return desde + (long) (random.nextDouble() * (hasta - desde + 1));
+        }
+    }
+
+    record DatosGenerados(Rango clientes, Rango productos, Rango pedidos, int facturas) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+    private final LocalDateTime ahora = LocalDateTime.now();
+
+    LoadDataGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    DatosGenerados generar(Volumenes v) {
+        Rango departments = insertar("departments", "INSERT INTO departments (name, description) VALUES (?, ?)",
+                v.departments(), i -> new Object[]{"Departamento " + i, "Área " + i});
+
+        Rango skills = insertar("skills", "INSERT INTO skills (name, description) VALUES (?, ?)",
+                v.skills(), i -> new Object[]{"Skill " + i, "Competencia " + i});
+
+        Rango employees = insertar("employees",
+                "INSERT INTO employees (first_name, last_name, email, address, phone, department_id) VALUES (?, ?, ?, ?, ?, ?)",
+                v.employees(), i -> new Object[]{nombre(), apellido(), "empleado" + i + "@emsx.com",
+                        "Av. Principal " + i, telefono(), departments.aleatorio(random)});
+
+        // 0-5 habilidades distintas por empleado
+        List<Object[]> employeeSkills = new ArrayList<>();
+        for (long e = employees.desde(); e <= employees.hasta(); e++) {
+            long inicio = skills.aleatorio(random);
+            int cantidad = random.nextInt(6);
+            for (int k = 0; k < cantidad && inicio + k <= skills.hasta(); k++) {
+                employeeSkills.add(new Object[]{e, inicio + k});
+            }
+        }
+        lotes("INSERT INTO employee_skills (employee_id, skill_id) VALUES (?, ?)", employeeSkills);
+
+        Rango clientes = insertar("clientes",
+                "INSERT INTO clientes (nombre, email, telefono, direccion, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                v.clientes(), i -> new Object[]{nombre() + " " + apellido(), "cliente" + i + "@correo.com",
+                        telefono(), "Jr. Comercio " + i, fechaPasada(), fechaPasada()});
+
+        Rango productos = insertar("productos",
+                "INSERT INTO productos (nombre, descripcion, precio, stock, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                v.productos(), i -> new Object[]{"Producto " + i, "Descripción del producto número " + i,
+                        monto(1, 500), random.nextInt(200), fechaPasada(), fechaPasada()});
+
+        // Pedidos con 1-4 líneas; el total del pedido es la suma de sus líneas
+        List<Object[]> pedidos = new ArrayList<>(v.pedidos());
+        List<List<Object[]>> lineasPorPedido = new ArrayList<>(v.pedidos());
+        for (int i = 0; i < v.pedidos(); i++) {
+            List<Object[]> lineas = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            for (int l = 0, n = 1 + random.nextInt(4); l < n; l++) {
+                int cantidad = 1 + random.nextInt(5);
+                BigDecimal precio = monto(1, 500);
+                BigDecimal subtotal = precio.multiply(BigDecimal.valueOf(cantidad));
+                total = total.add(subtotal);
+                lineas.add(new Object[]{productos.aleatorio(random), cantidad, precio, subtotal});
+            }
+            Timestamp fecha = fechaPasada();
+            pedidos.add(new Object[]{clientes.aleatorio(random), fecha, total,
+                    ESTADOS[random.nextInt(ESTADOS.length)], fecha, fecha});
+            lineasPorPedido.add(lineas);
+        }
+        long basePedidos = maxId("pedidos", "id_pedido");
+        lotes("INSERT INTO pedidos (id_cliente, fecha, total, estado, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", pedidos);
+        Rango rangoPedidos = new Rango(basePedidos + 1, basePedidos + v.pedidos());
+
+        List<Object[]> lineas = new ArrayList<>();
+        List<Object[]> facturas = new ArrayList<>();
+        for (int i = 0; i < pedidos.size(); i++) {
+            long idPedido = rangoPedidos.desde() + i;
+            Object[] pedido = pedidos.get(i);
+            for (Object[] l : lineasPorPedido.get(i)) {
+                lineas.add(new Object[]{idPedido, l[0], l[1], l[2], l[3], pedido[1]});
+            }
+            if ("COMPLETADO".equals(pedido[3])) {
+                facturas.add(new Object[]{String.format("LOAD-%010d", idPedido), idPedido, pedido[1],
+                        pedido[2], pedido[2], pedido[1]});
+            }
+        }
+        lotes("INSERT INTO pedido_producto (id_pedido, id_prod, cantidad, precio_unitario, subtotal, created_at) VALUES (?, ?, ?, ?, ?, ?)", lineas);
+        lotes("INSERT INTO facturas (nro, id_pedido, fecha, subtotal, total, created_at) VALUES (?, ?, ?, ?, ?, ?)", facturas);
+
+        return new DatosGenerados(clientes, productos, rangoPedidos, facturas.size());
+    }
+
+    private Rango insertar(String tabla, String sql, int cantidad, IntFunction<Object[]> fila) {
+        long base = maxId(tabla, switch (tabla) {
+            case "clientes" -> "id_cliente";
+            case "productos" -> "id_prod";
+            default -> "id";
+        });
+        List<Object[]> filas = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            filas.add(fila.apply((int) base + i));
+        }
+        lotes(sql, filas);
+        return new Rango(base + 1, base + cantidad);
+    }
+
+    private void lotes(String sql, List<Object[]> filas) {
+        for (int i = 0; i < filas.size(); i += TAMANO_LOTE) {
+            jdbcTemplate.batchUpdate(sql, filas.subList(i, Math.min(i + TAMANO_LOTE, filas.size())));
+        }
+    }
+
+    private long maxId(String tabla, String columna) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + columna + ") FROM " + tabla, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private String nombre() {
+        return NOMBRES[random.nextInt(NOMBRES.length)];
+    }
+
+    private String apellido() {
+        return APELLIDOS[random.nextInt(APELLIDOS.length)];
+    }
+
+    private String telefono() {
+        return "9" + (10_000_000 + random.nextInt(90_000_000));
+    }
+
+    private BigDecimal monto(int min, int max) {
+        return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Timestamp fechaPasada() {
+        return Timestamp.valueOf(ahora.minusMinutes(random.nextInt(60 * 24 * 730)));
+    }
+}
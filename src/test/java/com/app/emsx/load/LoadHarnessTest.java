@@ -0,0 +1,266 @@
+package com.app.emsx.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LoadHarnessTest
+ * -----------------------------------------------------
+ * ✔ Levanta la aplicación completa sobre H2 (modo PostgreSQL) en un puerto aleatorio
+ * ✔ Siembra datos con LoadDataGenerator y ejecuta una carga mixta por HTTP
+ *   (login, listados, búsqueda, historial de cliente, creación de pedidos)
+ * ✔ Reporta p50/p99 por operación y throughput; deja el resultado en target/load-report.json
+ *   (nombre configurable con -Dload.report=archivo.json)
+ * ✔ -Dload.jdbc-latency-ms=N agrega N ms a cada sentencia SQL para emular la red hasta
+ *   Postgres (H2 en memoria no espera I/O y ocultaría el efecto de los hilos virtuales)
+ *
+ * Desactivado por defecto. Ejecutar con:
+ *   mvn test -Dtest=LoadHarnessTest -Dload.enabled=true [-Dload.concurrency=16 -Dload.duration-seconds=30]
+ * Comparar hilos de plataforma vs virtuales: scripts/benchmark-virtual-threads.sh
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+class LoadHarnessTest {
+
+    enum Operacion {
+        LOGIN(5), EMPLEADOS(15), PRODUCTOS(20), BUSQUEDA_PRODUCTOS(15), HISTORIAL_CLIENTE(30), CREAR_PEDIDO(15);
+
+        final int peso;
+
+        Operacion(int peso) {
+            this.peso = peso;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    @TestConfiguration
+    static class LatenciaJdbcConfig {
+
+        @Bean
+        static BeanPostProcessor latenciaJdbcPostProcessor() {
+            long latenciaMs = Long.getLong("load.jdbc-latency-ms", 0);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (latenciaMs <= 0 || !(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("load-latencia")
+                            .beforeQuery((execInfo, queries) -> {
+                                try {
+                                    Thread.sleep(latenciaMs);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            })
+                            .build();
+                }
+            };
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void cargaMixta() throws Exception {
+        int concurrencia = Integer.getInteger("load.concurrency", 16);
+        int duracion = Integer.getInteger("load.duration-seconds", 30);
+        int calentamiento = Integer.getInteger("load.warmup-seconds", 5);
+
+        long inicioSiembra = System.nanoTime();
+        LoadDataGenerator.Volumenes volumenes = LoadDataGenerator.Volumenes.desdePropiedades();
+        LoadDataGenerator.DatosGenerados datos = new LoadDataGenerator(jdbcTemplate).generar(volumenes);
+        log.info("🌱 Datos generados en {} ms: {} (facturas: {})",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioSiembra), volumenes, datos.facturas());
+
+        String token = login();
+
+        // Calentamiento (JIT, pools, cachés): se descarta
+        ejecutar(concurrencia, calentamiento, token, datos);
+        Map<Operacion, List<Long>> latencias = new EnumMap<>(Operacion.class);
+        Map<Operacion, Integer> errores = new EnumMap<>(Operacion.class);
+        long inicio = System.nanoTime();
+        for (Resultado r : ejecutar(concurrencia, duracion, token, datos)) {
+            r.latencias().forEach((op, valores) -> latencias.computeIfAbsent(op, k -> new ArrayList<>()).addAll(valores));
+            r.errores().forEach((op, n) -> errores.merge(op, n, Integer::sum));
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Map<String, Object> reporte = reportar(latencias, errores, segundos, concurrencia, volumenes);
+        Path archivo = Path.of("target", System.getProperty("load.report", "load-report.json"));
+        Files.createDirectories(archivo.getParent());
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(archivo.toFile(), reporte);
+        log.info("📄 Reporte guardado en {}", archivo.toAbsolutePath());
+
+        assertThat(latencias).isNotEmpty();
+        assertThat(errores).as("respuestas no 2xx").isEmpty();
+    }
+
+    private record Resultado(Map<Operacion, List<Long>> latencias, Map<Operacion, Integer> errores) {
+    }
+
+    /**
+     * Lanza N usuarios virtuales durante la duración indicada; cada uno elige operaciones según su peso.
+     */
+    private List<Resultado> ejecutar(int concurrencia, int segundos, String token,
+                                     LoadDataGenerator.DatosGenerados datos) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrencia);
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        List<Future<Resultado>> futuros = new ArrayList<>();
+        for (int u = 0; u < concurrencia; u++) {
+            Random random = new Random(u);
+            futuros.add(pool.submit(() -> {
+                Map<Operacion, List<Long>> latencias = new EnumMap<>(Operacion.class);
+                Map<Operacion, Integer> errores = new EnumMap<>(Operacion.class);
+                while (System.nanoTime() < fin) {
+                    Operacion op = elegir(random);
+                    HttpRequest request = construir(op, token, datos, random);
+                    long t0 = System.nanoTime();
+                    int status;
+                    try {
+                        status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    latencias.computeIfAbsent(op, k -> new ArrayList<>()).add(System.nanoTime() - t0);
+                    if (status < 200 || status >= 300) {
+                        errores.merge(op, 1, Integer::sum);
+                    }
+                }
+                return new Resultado(latencias, errores);
+            }));
+        }
+        List<Resultado> resultados = new ArrayList<>();
+        for (Future<Resultado> f : futuros) {
+            resultados.add(f.get());
+        }
+        pool.shutdown();
+        return resultados;
+    }
+
+    private static Operacion elegir(Random random) {
+        int total = Arrays.stream(Operacion.values()).mapToInt(o -> o.peso).sum();
+        int valor = random.nextInt(total);
+        for (Operacion op : Operacion.values()) {
+            valor -= op.peso;
+            if (valor < 0) return op;
+        }
+        return Operacion.PRODUCTOS;
+    }
+
+    private HttpRequest construir(Operacion op, String token, LoadDataGenerator.DatosGenerados datos, Random random) {
+        return switch (op) {
+            case LOGIN -> json("/api/auth/login", null, "{\"username\":\"admin\",\"password\":\"admin123\"}");
+            case EMPLEADOS -> get("/api/employees", token);
+            case PRODUCTOS -> get("/api/productos", token);
+            case BUSQUEDA_PRODUCTOS -> get("/api/productos/search?q=Producto%20" + (1 + random.nextInt(99)) + "&size=20", token);
+            case HISTORIAL_CLIENTE -> get("/api/clientes/" + datos.clientes().aleatorio(random) + "/pedidos?size=20", token);
+            case CREAR_PEDIDO -> json("/api/pedidos", token, String.format(Locale.ROOT,
+                    "{\"cliente\":{\"idCliente\":%d},\"fecha\":\"%s\",\"total\":%.2f,\"estado\":\"PENDIENTE\"}",
+                    datos.clientes().aleatorio(random), LocalDateTime.now(), 10 + random.nextDouble() * 490));
+        };
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> response = http.send(
+                json("/api/auth/login", null, "{\"username\":\"admin\",\"password\":\"admin123\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body()).path("data").path("token").asText();
+    }
+
+    private HttpRequest get(String ruta, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + ruta))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+    }
+
+    private HttpRequest json(String ruta, String token, String cuerpo) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo));
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder.build();
+    }
+
+    private Map<String, Object> reportar(Map<Operacion, List<Long>> latencias, Map<Operacion, Integer> errores,
+                                         double segundos, int concurrencia, LoadDataGenerator.Volumenes volumenes) {
+        Map<String, Object> porOperacion = new LinkedHashMap<>();
+        long total = 0;
+        StringBuilder tabla = new StringBuilder(String.format("%n%-20s %8s %8s %10s %10s %10s%n",
+                "operación", "n", "errores", "p50 ms", "p99 ms", "req/s"));
+        for (Operacion op : Operacion.values()) {
+            List<Long> valores = latencias.getOrDefault(op, List.of());
+            if (valores.isEmpty()) continue;
+            long[] ordenados = valores.stream().mapToLong(Long::longValue).sorted().toArray();
+            double p50 = percentil(ordenados, 50);
+            double p99 = percentil(ordenados, 99);
+            double rps = ordenados.length / segundos;
+            total += ordenados.length;
+            porOperacion.put(op.name(), Map.of("n", ordenados.length, "errores", errores.getOrDefault(op, 0),
+                    "p50Ms", p50, "p99Ms", p99, "throughput", rps));
+            tabla.append(String.format(Locale.ROOT, "%-20s %8d %8d %10.2f %10.2f %10.1f%n",
+                    op.name(), ordenados.length, errores.getOrDefault(op, 0), p50, p99, rps));
+        }
+        double throughput = total / segundos;
+        tabla.append(String.format(Locale.ROOT, "TOTAL: %d requests en %.1f s → %.1f req/s (%d usuarios, hilos %s)",
+                total, segundos, throughput, concurrencia, hilosVirtuales ? "virtuales" : "de plataforma"));
+        log.info("📊 Resultado de la carga:{}", tabla);
+
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("generadoEn", LocalDateTime.now().toString());
+        reporte.put("concurrencia", concurrencia);
+        reporte.put("hilosVirtuales", hilosVirtuales);
+        reporte.put("latenciaJdbcMs", Long.getLong("load.jdbc-latency-ms", 0));
+        reporte.put("duracionSegundos", segundos);
+        reporte.put("volumenes", volumenes);
+        reporte.put("throughput", throughput);
+        reporte.put("operaciones", porOperacion);
+        return reporte;
+    }
+
+    private static double percentil(long[] ordenados, int p) {
+        int indice = (int) Math.ceil(p / 100.0 * ordenados.length) - 1;
+        return ordenados[Math.max(indice, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.emsx.security;
+
+import com.app.emsx.H2IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * MetricsEndpointSecurityTest
+ * -----------------------------------------------------
+ * ✔ /actuator/prometheus no es público: sin credenciales o con clave incorrecta → 401
+ * ✔ El usuario de scraping (emsx.metrics.*) pasa la seguridad
+ * ✔ /actuator/health sigue público
+ */
+@H2IntegrationTest
+class MetricsEndpointSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusExigeElUsuarioDeScraping() throws Exception {
+        assertThat(estado(null, null)).isEqualTo(401);
+        assertThat(estado("prometheus", "incorrecta")).isEqualTo(401);
+        // En los tests Spring Boot no exporta a Prometheus (404): basta con que no sea 401/403
+        assertThat(estado("prometheus", "scrape-test")).isNotIn(401, 403);
+    }
+
+    @Test
+    void healthSiguePublico() throws Exception {
+        assertThat(mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus()).isNotIn(401, 403);
+    }
+
+    private int estado(String usuario, String clave) throws Exception {
+        var request = get("/actuator/prometheus");
+        if (usuario != null) request.with(httpBasic(usuario, clave));
+        return mockMvc.perform(request).andReturn().getResponse().getStatus();
+    }
+}
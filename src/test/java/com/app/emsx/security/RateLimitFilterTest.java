@@ -0,0 +1,176 @@
+package com.app.emsx.security;
+
+import com.app.emsx.H2IntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * RateLimitFilterTest
+ * -----------------------------------------------------
+ * ✔ Cada usuario tiene su propio bucket por grupo de rutas: agotar /api/pedidos
+ *   no afecta a otros usuarios ni a otros grupos
+ * ✔ /api/auth/** se limita por IP
+ * ✔ 429 y 503 llevan Retry-After y cuerpo ApiResponse
+ * ✔ Con presión de carga se descartan los grupos sheddable, no el login
+ * ✔ La EWMA de latencia pondera por tiempo y decae sin tráfico
+ * ✔ El bucket admite exactamente su capacidad bajo concurrencia (CAS sin locks)
+ */
+@H2IntegrationTest
+@TestPropertySource(properties = {
+        // Límites propios → contexto propio: también base propia (ver H2IntegrationTest)
+        "spring.datasource.url=jdbc:h2:mem:emsx-ratelimit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "emsx.rate-limit.enabled=true",
+        // Una lista en properties de mayor prioridad reemplaza la de application.properties completa
+        "emsx.rate-limit.groups[0].name=auth",
+        "emsx.rate-limit.groups[0].patterns=/api/auth/**",
+        "emsx.rate-limit.groups[0].capacity=2",
+        "emsx.rate-limit.groups[0].refill-per-second=0.001",
+        "emsx.rate-limit.groups[0].by-ip=true",
+        "emsx.rate-limit.groups[0].sheddable=false",
+        "emsx.rate-limit.groups[1].name=pedidos",
+        "emsx.rate-limit.groups[1].patterns=/api/pedidos/**",
+        "emsx.rate-limit.groups[1].capacity=3",
+        "emsx.rate-limit.groups[1].refill-per-second=0.001",
+        "emsx.rate-limit.groups[2].name=api",
+        "emsx.rate-limit.groups[2].patterns=/api/**",
+        "emsx.rate-limit.shedding.latency-threshold-ms=1000",
+        "emsx.rate-limit.shedding.latency-time-constant-ms=100",
+        "emsx.rate-limit.shedding.max-ratio=1"
+})
+@WithMockUser(roles = "ADMIN")
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void pedidosSeLimitanPorUsuario() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(pedidos("integracion").getResponse().getStatus()).isEqualTo(200);
+        }
+
+        MvcResult limitado = pedidos("integracion");
+        assertThat(limitado.getResponse().getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(limitado.getResponse().getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+        assertThat(limitado.getResponse().getContentAsString()).contains("\"success\":false");
+
+        // Otro usuario y otro grupo de rutas siguen disponibles
+        assertThat(pedidos("otro").getResponse().getStatus()).isEqualTo(200);
+        assertThat(mockMvc.perform(get("/api/clientes").with(user("integracion").roles("ADMIN")))
+                .andReturn().getResponse().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void authSeLimitaPorIp() throws Exception {
+        assertThat(login("10.0.0.1")).isNotEqualTo(429);
+        assertThat(login("10.0.0.1")).isNotEqualTo(429);
+        assertThat(login("10.0.0.1")).isEqualTo(429);
+        assertThat(login("10.0.0.2")).isNotEqualTo(429);
+    }
+
+    @Test
+    void sobrecargaDescartaSoloGruposSheddable() throws Exception {
+        // Muestras "en el futuro": la presión no decae mientras corre el test
+        long tau = TimeUnit.MILLISECONDS.toNanos(100);
+        try {
+            loadShedder.registrar(TimeUnit.SECONDS.toNanos(10), System.nanoTime() + 10 * tau);
+
+            MvcResult descartado = mockMvc.perform(get("/api/departments")).andReturn();
+            assertThat(descartado.getResponse().getStatus()).isEqualTo(503);
+            assertThat(descartado.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isNotBlank();
+            assertThat(login("10.0.0.3")).isNotEqualTo(503);
+        } finally {
+            loadShedder.registrar(0, System.nanoTime() + 20 * tau);
+        }
+        assertThat(loadShedder.presion()).isLessThan(1);
+    }
+
+    @Test
+    void latenciaPonderadaPorTiempo() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getShedding().setLatencyThresholdMs(1000);
+        properties.getShedding().setLatencyTimeConstantMs(1000);
+        LoadShedder shedder = new LoadShedder(properties, dataSource, new SimpleMeterRegistry());
+        long tau = TimeUnit.SECONDS.toNanos(1);
+        long t = System.nanoTime() + 10 * tau;
+
+        // Tras 10τ sin muestras, la nueva pesa ~100 %
+        shedder.registrar(TimeUnit.SECONDS.toNanos(4), t);
+        assertThat(shedder.presion(t)).isCloseTo(4, within(0.01));
+
+        // Mil requests rápidos en 1 ms pesan lo que ese milisegundo, no 1000 muestras
+        for (int i = 1; i <= 1000; i++) shedder.registrar(0, t + TimeUnit.MICROSECONDS.toNanos(i));
+        assertThat(shedder.presion(t + TimeUnit.MILLISECONDS.toNanos(1))).isGreaterThan(3.9);
+
+        // Sin tráfico la señal decae: 4·e^(-2) ≈ 0.54
+        assertThat(shedder.presion(t + 2 * tau)).isLessThan(1);
+    }
+
+    @Test
+    void bucketAdmiteSuCapacidadBajoConcurrencia() throws Exception {
+        RateLimiter.TokenBucket bucket = new RateLimiter.TokenBucket(100, 0.000_001, System.nanoTime());
+        AtomicInteger admitidos = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        try (ExecutorService hilos = Executors.newFixedThreadPool(8)) {
+            for (int h = 0; h < 8; h++) {
+                hilos.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.consumir(System.nanoTime()) == 0) admitidos.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            inicio.countDown();
+        }
+
+        assertThat(admitidos.get()).isEqualTo(100);
+    }
+
+    private MvcResult pedidos(String usuario) throws Exception {
+        return mockMvc.perform(get("/api/pedidos").with(user(usuario).roles("ADMIN"))).andReturn();
+    }
+
+    private int login(String ip) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                        .with(desde(ip))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"nadie\",\"password\":\"incorrecta\"}"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private static RequestPostProcessor desde(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.dtos.cliente.ClienteDuplicadoResponse;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.services.ClienteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ClienteDuplicadosTest
+ * -----------------------------------------------------
+ * ✔ Claves normalizadas: email (mayúsculas, +etiqueta, puntos de Gmail),
+ *   teléfono (solo dígitos, sin prefijo de país) y nombre + dirección
+ *   (acentos, puntuación y orden de palabras)
+ * ✔ Union-find: A~B por email y B~C por teléfono → un solo grupo {A, B, C}
+ */
+@H2IntegrationTest
+class ClienteDuplicadosTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    void claveEmail() {
+        assertThat(ClienteServiceImpl.claveEmail("  Juan.Perez+promo@GMAIL.com "))
+                .isEqualTo(ClienteServiceImpl.claveEmail("juanperez@googlemail.com"))
+                .isEqualTo("juanperez@gmail.com");
+        // Los puntos solo se ignoran en Gmail
+        assertThat(ClienteServiceImpl.claveEmail("juan.perez@emsx.com")).isEqualTo("juan.perez@emsx.com");
+        assertThat(ClienteServiceImpl.claveEmail("sin-arroba")).isNull();
+        assertThat(ClienteServiceImpl.claveEmail("+solo@emsx.com")).isNull();
+    }
+
+    @Test
+    void claveTelefonoIgnoraPrefijoDePais() {
+        assertThat(ClienteServiceImpl.claveTelefono("+54 9 11 4321-8765"))
+                .isEqualTo(ClienteServiceImpl.claveTelefono("(11) 4321 8765"))
+                .isEqualTo("143218765");
+        assertThat(ClienteServiceImpl.claveTelefono("123-45")).isNull();
+        assertThat(ClienteServiceImpl.claveTelefono(null)).isNull();
+    }
+
+    @Test
+    void claveNombreDireccion() {
+        assertThat(ClienteServiceImpl.claveNombreDireccion("José  Pérez", "Av. Siempre Viva 742"))
+                .isEqualTo(ClienteServiceImpl.claveNombreDireccion("PEREZ, Jose", "Siempre Viva 742, Av"));
+        assertThat(ClienteServiceImpl.claveNombreDireccion("José Pérez", "  ")).isNull();
+    }
+
+    @Test
+    void unionFindUneTransitivamente() {
+        ClienteServiceImpl.UnionFind grupos = new ClienteServiceImpl.UnionFind();
+        grupos.unir(5, 3);
+        grupos.unir(9, 7);
+        grupos.unir(7, 5);
+
+        // Raíz = menor ID del grupo
+        assertThat(List.of(3L, 5L, 7L, 9L)).allMatch(id -> grupos.raiz(id) == 3);
+        grupos.unir(11, 12);
+        assertThat(grupos.raiz(12)).isEqualTo(11);
+        assertThat(grupos.elementos()).containsExactlyInAnyOrder(3L, 5L, 7L, 9L, 11L, 12L);
+    }
+
+    @Test
+    void agrupaPorCualquierClave() {
+        Cliente a = guardar("Ana Duplicada", "ana.dup@gmail.com", "11 4321 0001");
+        Cliente b = guardar("Ana D.", "anadup+tienda@gmail.com", "+54 9 11 4321 0002");
+        Cliente c = guardar("A. Duplicada", "otra.ana@emsx.com", "(11) 4321-0002");
+        Cliente d = guardar("Bruno Unico", "bruno.unico@emsx.com", "11 4321 0003");
+
+        List<ClienteDuplicadoResponse> grupos = clienteService.detectarDuplicados().getGrupos();
+
+        ClienteDuplicadoResponse grupo = grupos.stream()
+                .filter(g -> g.getIdsClientes().contains(a.getIdCliente()))
+                .findFirst().orElseThrow();
+        assertThat(grupo.getIdsClientes()).containsExactly(a.getIdCliente(), b.getIdCliente(), c.getIdCliente());
+        assertThat(grupo.getMotivos()).containsExactly("EMAIL", "TELEFONO");
+        assertThat(grupos).noneMatch(g -> g.getIdsClientes().contains(d.getIdCliente()));
+    }
+
+    private Cliente guardar(String nombre, String email, String telefono) {
+        return clienteRepository.save(Cliente.builder().nombre(nombre).email(email).telefono(telefono).build());
+    }
+}
@@ -0,0 +1,134 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.entities.BatchCheckpoint;
+import com.app.emsx.entities.Cliente;
+import com.app.emsx.entities.Factura;
+import com.app.emsx.entities.Pedido;
+import com.app.emsx.repositories.BatchCheckpointRepository;
+import com.app.emsx.repositories.ClienteRepository;
+import com.app.emsx.repositories.FacturaRepository;
+import com.app.emsx.repositories.PedidoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FacturacionBatchTest
+ * -----------------------------------------------------
+ * ✔ Una caída a mitad de partición deja el checkpoint EN_CURSO con el último
+ *   bloque confirmado; la siguiente ejecución reanuda desde su last_id
+ * ✔ Particiones por id_pedido % workers: cada pedido se factura una sola vez
+ * ✔ ON CONFLICT DO NOTHING: un nro ya usado se omite y no cuenta en procesados
+ */
+@H2IntegrationTest
+class FacturacionBatchTest {
+
+    private static final int WORKERS = 2;
+    private static final int BLOQUE = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Test
+    void reanudaTrasUnaCaidaSinDuplicar() throws Exception {
+        // Base compartida: se factura lo que otros tests dejaron COMPLETADO
+        ejecutar(jdbcTemplate);
+
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nombre("Cliente Lote").email("lote@emsx.com").telefono("5551234").build());
+        List<Pedido> pares = new ArrayList<>();
+        List<Pedido> impares = new ArrayList<>();
+        while (pares.size() < 5 || impares.size() < 5) {
+            Pedido pedido = pedidoRepository.save(pedido(cliente, "COMPLETADO"));
+            (pedido.getIdPedido() % WORKERS == 0 ? pares : impares).add(pedido);
+        }
+
+        // Otra instancia ya usó el nro del último impar (en otro pedido): ese INSERT no inserta nada
+        Pedido enConflicto = impares.get(impares.size() - 1);
+        facturaRepository.save(Factura.builder()
+                .nro(String.format("FAC-%010d", enConflicto.getIdPedido()))
+                .pedido(pedidoRepository.save(pedido(cliente, "PENDIENTE")))
+                .fecha(LocalDateTime.now()).subtotal(BigDecimal.TEN).total(BigDecimal.TEN).build());
+
+        // Primera ejecución: el segundo bloque (partición 0) falla y se revierte
+        AtomicInteger bloques = new AtomicInteger();
+        JdbcTemplate conCaida = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> pss) {
+                if (bloques.incrementAndGet() == 2) throw new IllegalStateException("Caída simulada");
+                return super.batchUpdate(sql, batchArgs, batchSize, pss);
+            }
+        };
+        ejecutar(conCaida);
+
+        BatchCheckpoint particion0 = checkpointRepository.findById("facturacion-0").orElseThrow();
+        assertThat(particion0.getEstado()).isEqualTo(BatchCheckpoint.EN_CURSO);
+        assertThat(particion0.getProcesados()).isEqualTo(BLOQUE);
+        assertThat(particion0.getLastId()).isEqualTo(pares.get(BLOQUE - 1).getIdPedido());
+        assertThat(checkpointRepository.findById("facturacion-1").orElseThrow().getProcesados())
+                .isEqualTo(impares.size() - 1);
+
+        // Segunda ejecución: la partición 0 sigue desde su last_id
+        ejecutar(jdbcTemplate);
+
+        particion0 = checkpointRepository.findById("facturacion-0").orElseThrow();
+        assertThat(particion0.getEstado()).isEqualTo(BatchCheckpoint.COMPLETADO);
+        assertThat(particion0.getProcesados()).isEqualTo(pares.size());
+
+        for (Pedido pedido : pares) assertThat(facturasDe(pedido)).isEqualTo(1);
+        for (Pedido pedido : impares.subList(0, impares.size() - 1)) assertThat(facturasDe(pedido)).isEqualTo(1);
+        assertThat(facturasDe(enConflicto)).isZero();
+    }
+
+    // Un hilo: las particiones corren en orden (0, 1) y la caída cae siempre en la partición 0
+    private void ejecutar(JdbcTemplate jdbc) throws InterruptedException {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        new FacturacionBatchServiceImpl(jdbc, transactionTemplate, checkpointRepository, executor, WORKERS, BLOQUE)
+                .iniciar();
+        executor.getThreadPoolExecutor().shutdown();
+        assertThat(executor.getThreadPoolExecutor().awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private Integer facturasDe(Pedido pedido) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM facturas WHERE id_pedido = ?",
+                Integer.class, pedido.getIdPedido());
+    }
+
+    private static Pedido pedido(Cliente cliente, String estado) {
+        return Pedido.builder()
+                .cliente(cliente).fecha(LocalDateTime.now()).total(new BigDecimal("10.00")).estado(estado).build();
+    }
+}
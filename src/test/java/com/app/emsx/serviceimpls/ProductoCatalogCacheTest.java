@@ -0,0 +1,59 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.entities.Producto;
+import com.app.emsx.services.ProductoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ProductoCatalogCacheTest
+ * -----------------------------------------------------
+ * ✔ La versión del catálogo (y su ETag) cambia recién al confirmar la escritura:
+ *   una recarga antes del commit no puede guardar filas viejas con la versión nueva
+ * ✔ Un rollback no invalida la caché
+ */
+@H2IntegrationTest
+class ProductoCatalogCacheTest {
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void laVersionCambiaAlConfirmar() {
+        String antes = productoService.catalogEtag();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productoService.create(nuevo("Teclado"));
+            assertThat(productoService.catalogEtag()).isEqualTo(antes);
+        });
+
+        assertThat(productoService.catalogEtag()).isNotEqualTo(antes);
+        assertThat(productoService.findAll()).extracting("nombre").contains("Teclado");
+    }
+
+    @Test
+    void unRollbackNoInvalidaLaCache() {
+        String antes = productoService.catalogEtag();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productoService.create(nuevo("Descartado"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(productoService.catalogEtag()).isEqualTo(antes);
+        assertThat(productoService.findAll()).extracting("nombre").doesNotContain("Descartado");
+    }
+
+    private static Producto nuevo(String nombre) {
+        return Producto.builder().nombre(nombre).precio(new BigDecimal("20.00")).stock(5).build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.app.emsx.serviceimpls;
+
+import com.app.emsx.H2IntegrationTest;
+import com.app.emsx.entities.Department;
+import com.app.emsx.entities.Dependent;
+import com.app.emsx.entities.Employee;
+import com.app.emsx.entities.Skill;
+import com.app.emsx.repositories.DepartmentRepository;
+import com.app.emsx.repositories.DependentRepository;
+import com.app.emsx.repositories.EmployeeRepository;
+import com.app.emsx.repositories.SkillRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * TransactionPolicyTest
+ * -----------------------------------------------------
+ * ✔ Las lecturas corren en transacciones readOnly: Hibernate no hace flush
+ *   (FlushMode.MANUAL) ni guarda snapshots para el dirty checking
+ * ✔ Cada GET tiene un presupuesto de sentencias SQL (cabecera X-Query-Count):
+ *   si una lectura empieza a disparar más consultas, el test falla
+ * ✔ Las escrituras siguen haciendo flush aunque la clase sea readOnly por defecto
+ */
+@H2IntegrationTest
+@WithMockUser(roles = "ADMIN")
+class TransactionPolicyTest {
+
+    private static final int EMPLEADOS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private DependentRepository dependentRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void sembrarDatos() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (employeeRepository.existsByEmail("empleado1@emsx.com")) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Department ventas = departmentRepository.save(Department.builder().name("Ventas").description("Comercial").build());
+            Department soporte = departmentRepository.save(Department.builder().name("Soporte").description("Atención").build());
+            Skill java = skillRepository.save(Skill.builder().name("Java").description("Backend").build());
+            Skill sql = skillRepository.save(Skill.builder().name("SQL").description("Datos").build());
+            Skill ingles = skillRepository.save(Skill.builder().name("Inglés").description("Idiomas").build());
+
+            for (int i = 1; i <= EMPLEADOS; i++) {
+                Employee empleado = new Employee();
+                empleado.setFirstName("Empleado" + i);
+                empleado.setLastName("Prueba");
+                empleado.setEmail("empleado" + i + "@emsx.com");
+                empleado.setPhone("555000" + i + "00");
+                empleado.setDepartment(i % 2 == 0 ? ventas : soporte);
+                empleado.setSkills(new HashSet<>(i % 2 == 0 ? Set.of(java, sql) : Set.of(sql, ingles)));
+                employeeRepository.save(empleado);
+
+                Dependent dependiente = new Dependent();
+                dependiente.setName("Dependiente" + i);
+                dependiente.setEmployee(empleado);
+                dependentRepository.save(dependiente);
+            }
+        });
+    }
+
+    static Stream<Arguments> lecturas() {
+        // Los listados aún cargan asociaciones perezosas por fila (N+1 acotado): el presupuesto
+        // depende de las filas presentes, y la base es compartida con otros tests
+        return Stream.of(
+                Arguments.of("/api/employees", presupuesto(t -> 2L + 2 * t.employeeRepository.count())),
+                Arguments.of("/api/employees/{id}", presupuesto(t -> 3L)),
+                Arguments.of("/api/departments", presupuesto(t -> 1L + t.departmentRepository.count())),
+                Arguments.of("/api/departments/{id}", presupuesto(t -> 2L)),
+                Arguments.of("/api/skills", presupuesto(t -> 1L + t.skillRepository.count())),
+                Arguments.of("/api/skills/{id}", presupuesto(t -> 2L)),
+                Arguments.of("/api/dependents", presupuesto(t -> 1L + t.dependentRepository.count())),
+                Arguments.of("/api/dependents/employee/{id}", presupuesto(t -> 2L)),
+                Arguments.of("/api/employee-skills/employee/{id}", presupuesto(t -> 2L)),
+                Arguments.of("/api/employee-skills/skill/{id}", presupuesto(t -> 2L))
+        );
+    }
+
+    private static Function<TransactionPolicyTest, Long> presupuesto(Function<TransactionPolicyTest, Long> calculo) {
+        return calculo;
+    }
+
+    @ParameterizedTest(name = "GET {0} → sin flush, dentro del presupuesto de consultas")
+    @MethodSource("lecturas")
+    void lecturasSinFlushYDentroDelPresupuesto(String ruta, Function<TransactionPolicyTest, Long> calculo) throws Exception {
+        int presupuesto = calculo.apply(this).intValue();
+        MvcResult resultado = ejecutar(ruta.replace("{id}", idPara(ruta).toString()));
+
+        assertThat(resultado.getResponse().getStatus()).isEqualTo(200);
+        assertThat(statistics.getFlushCount()).as("flushes en %s", ruta).isZero();
+        assertThat(statistics.getTransactionCount()).as("transacciones en %s", ruta).isPositive();
+        assertThat(consultas(resultado)).as("consultas en %s", ruta).isLessThanOrEqualTo(presupuesto);
+    }
+
+    @Test
+    void crearDepartamentoHaceFlush() throws Exception {
+        statistics.clear();
+        mockMvc.perform(post("/api/departments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Finanzas\",\"description\":\"Contabilidad\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getFlushCount()).isPositive();
+        assertThat(departmentRepository.existsByName("Finanzas")).isTrue();
+
+        // No altera los presupuestos de los listados
+        departmentRepository.findAll().stream()
+                .filter(d -> d.getName().equals("Finanzas"))
+                .forEach(departmentRepository::delete);
+    }
+
+    @Test
+    void actualizarEmpleadoPersisteLosCambios() throws Exception {
+        Employee empleado = empleadoSembrado();
+
+        statistics.clear();
+        mockMvc.perform(put("/api/employees/{id}", empleado.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Renombrado\",\"lastName\":\"Prueba\",\"email\":\"" + empleado.getEmail()
+                                + "\",\"departmentId\":" + empleado.getDepartment().getId() + "}"))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getFlushCount()).isPositive();
+        assertThat(employeeRepository.findById(empleado.getId()).orElseThrow().getFirstName()).isEqualTo("Renombrado");
+    }
+
+    private MvcResult ejecutar(String ruta) throws Exception {
+        statistics.clear();
+        return mockMvc.perform(get(ruta)).andReturn();
+    }
+
+    private Long idPara(String ruta) {
+        if (!ruta.contains("{id}")) return 0L;
+        if (ruta.startsWith("/api/departments")) return departmentRepository.findAll().get(0).getId();
+        if (ruta.startsWith("/api/skills") || ruta.endsWith("/skill/{id}")) return skillRepository.findAll().get(0).getId();
+        return empleadoSembrado().getId();
+    }
+
+    private Employee empleadoSembrado() {
+        return employeeRepository.findAll().stream()
+                .filter(e -> e.getEmail().equals("empleado1@emsx.com"))
+                .findFirst().orElseThrow();
+    }
+
+    private static int consultas(MvcResult resultado) {
+        return Integer.parseInt(resultado.getResponse().getHeader("X-Query-Count"));
+    }
+}